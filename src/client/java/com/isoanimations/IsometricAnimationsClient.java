@@ -2,6 +2,7 @@ package com.isoanimations;
 
 import com.isoanimations.commands.CreateAnimationCommand;
 import com.isoanimations.config.RenderConfig;
+import com.isoanimations.manager.RegionEntityManager;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.rendering.v1.world.WorldRenderEvents;
 
@@ -17,5 +18,8 @@ public class IsometricAnimationsClient implements ClientModInitializer {
 
         // Register client-side commands
         CreateAnimationCommand.registerCommand();
+
+        // Track entities inside animation region once per tick
+        RegionEntityManager.register();
     }
 }
\ No newline at end of file
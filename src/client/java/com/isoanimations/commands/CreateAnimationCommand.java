@@ -4,6 +4,9 @@ import com.isoanimations.config.AnimationConfig;
 import com.isoanimations.config.RenderConfig;
 import com.isoanimations.manager.*;
 import com.isoanimations.util.BufferPool;
+import com.isoanimations.util.LatencyHistogram;
+import com.isoanimations.util.PipelineStats;
+import com.isoanimations.util.RegionMask;
 import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
@@ -13,6 +16,7 @@ import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.phys.Vec3;
 import org.joml.Vector3f;
@@ -23,8 +27,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback.EVENT;
 
 public class CreateAnimationCommand {
+    private static final int UNLIMITED_FRAMERATE = 260;
     private static boolean eventRegistered = false;
-    private static long chunkReloadStartTime = 0;
 
     public static void registerCommand() {
         EVENT.register((dispatcher, registryAccess) ->
@@ -32,6 +36,17 @@ public class CreateAnimationCommand {
                         // Clear previous animation state
                         .then(ClientCommandManager.literal("clear").executes(CreateAnimationCommand::clearAnimation))
 
+                        // Add or cut extra boxes from region of next animation
+                        .then(ClientCommandManager.literal("region")
+                                .then(ClientCommandManager.literal("add")
+                                        .then(buildRegionBoxArguments(false)))
+                                .then(ClientCommandManager.literal("subtract")
+                                        .then(buildRegionBoxArguments(true)))
+                                .then(ClientCommandManager.literal("clear").executes(CreateAnimationCommand::clearRegionBoxes)))
+
+                        // Show capture and encoding pipeline statistics
+                        .then(ClientCommandManager.literal("stats").executes(CreateAnimationCommand::showStats))
+
                         // Test render transformations without creating animation
                         .then(ClientCommandManager.literal("testpos")
                                 .then(buildAnimationArguments(false)))
@@ -49,11 +64,8 @@ public class CreateAnimationCommand {
             yawArg.then(ClientCommandManager.argument("duration", DoubleArgumentType.doubleArg(0.0))
                     .executes(CreateAnimationCommand::newAnimation));
         } else {
-            // Only position player without creating animation
-            yawArg.executes(context -> {
-                AnimationManager.setTestingPosition(true);
-                return positionCamera(context);
-            });
+            // Only position player and preview region without creating animation
+            yawArg.executes(CreateAnimationCommand::previewAnimation);
         }
 
         // Build rest of arguments
@@ -64,14 +76,83 @@ public class CreateAnimationCommand {
                                         .then(yawArg))));
     }
 
+    private static ArgumentBuilder<FabricClientCommandSource, ?> buildRegionBoxArguments(boolean subtract) {
+        return ClientCommandManager.argument("pos1", BlockPosArgument.blockPos())
+                .then(ClientCommandManager.argument("pos2", BlockPosArgument.blockPos())
+                        .executes(context -> addRegionBox(context, subtract)));
+    }
+
+    private static int addRegionBox(CommandContext<FabricClientCommandSource> context, boolean subtract) {
+        BlockPos pos1 = AnimationConfig.getBlockPosArgument(context, "pos1");
+        BlockPos pos2 = AnimationConfig.getBlockPosArgument(context, "pos2");
+        AnimationManager.addSelectionBox(pos1, pos2, subtract);
+        context.getSource().sendFeedback(Component.literal("%s box to region selection (%d extra boxes).".formatted(
+                subtract ? "Subtracted" : "Added",
+                AnimationManager.getSelectionBoxCount()
+        )));
+        return 1;
+    }
+
+    private static int clearRegionBoxes(CommandContext<FabricClientCommandSource> context) {
+        AnimationManager.clearSelectionBoxes();
+        context.getSource().sendFeedback(Component.literal("Cleared extra region selection boxes."));
+        return 1;
+    }
+
+    private static int previewAnimation(CommandContext<FabricClientCommandSource> context) {
+        // Build region meshes now so create with same region can reuse them
+        AnimationConfig config = AnimationConfig.parse(context, false);
+        AnimationManager.previewRegion(config.pos1(), config.pos2());
+        int result = positionCamera(context);
+
+        // Clamp render distance here too so create with same region keeps same meshes
+        RegionMask regionMask = AnimationManager.getRegionMask();
+        boolean rendererReloaded = RenderDistanceManager.clampToRegion(AnimationManager.getActiveRegion(), CameraManager.getPosition());
+        context.getSource().getClient().execute(() -> SectionInvalidationManager.applyRegion(regionMask, rendererReloaded));
+        return result;
+    }
+
     private static int clearAnimation(CommandContext<FabricClientCommandSource> context) {
         CameraManager.reset();
         AnimationManager.clearAnimation();
-        context.getSource().getClient().execute(context.getSource().getClient().levelRenderer::allChanged);
+        RenderDistanceManager.restore();
+        context.getSource().getClient().execute(() -> SectionInvalidationManager.applyRegion(null));
         context.getSource().sendFeedback(Component.literal("Cleared active animation region and stopped animation."));
         return 1;
     }
 
+    private static int showStats(CommandContext<FabricClientCommandSource> context) {
+        var source = context.getSource();
+        source.sendFeedback(Component.literal("Pipeline stats (ms: mean / p50 / p99 / max):").withStyle(ChatFormatting.YELLOW));
+
+        // Report latency of every pipeline stage
+        for (PipelineStats.Stage stage : PipelineStats.getStages()) {
+            LatencyHistogram histogram = stage.getHistogram();
+            source.sendFeedback(Component.literal("  %s: %.2f / %.2f / %.2f / %.2f (%d frames, %.1f fps)".formatted(
+                    stage.getLabel(),
+                    histogram.getMeanMillis(),
+                    histogram.getPercentileMillis(0.5),
+                    histogram.getPercentileMillis(0.99),
+                    histogram.getMaxMillis(),
+                    histogram.getCount(),
+                    PipelineStats.getFramesPerSecond(stage)
+            )));
+        }
+
+        // Report queue depths and buffer pool occupancy
+        source.sendFeedback(Component.literal("  Queued frames: %d, spooled frames: %d".formatted(
+                PipelineStats.getQueuedFrames(),
+                VideoStreamManager.getSpooledFrames()
+        )));
+        source.sendFeedback(Component.literal("  Buffers leased: %d, allocated: %d/%d (%.1f MiB)".formatted(
+                BufferPool.getLeasedBuffers(),
+                BufferPool.getAllocatedBuffers(),
+                BufferPool.getPoolSize(),
+                BufferPool.getAllocatedBytes() / (1024.0 * 1024.0)
+        )));
+        return 1;
+    }
+
     private static int newAnimation(CommandContext<FabricClientCommandSource> context) {
         // Render only if game frozen with '/tick freeze'
         var source = context.getSource();
@@ -94,6 +175,7 @@ public class CreateAnimationCommand {
         // Store original settings for reset after animation
         int origFps = source.getClient().options.framerateLimit().get();
         AnimationManager.setOriginalFps(origFps);
+        AnimationManager.setOriginalVsync(source.getClient().options.enableVsync().get());
 
         // Notify user about animation creation and settings
         source.sendFeedback(
@@ -111,27 +193,44 @@ public class CreateAnimationCommand {
         // Register on client tick event to manage animation state and frame capture
         if (!eventRegistered) {
             ClientTickEvents.END_CLIENT_TICK.register(client -> {
-                // Exit if no animation region active
-                if (AnimationManager.getActiveRegion() == null) {
+                // Exit if no animation region active or only previewing region
+                if (AnimationManager.getActiveRegion() == null || AnimationManager.isTestingPosition()) {
                     return;
                 }
 
                 // ===== START ANIMATION LOGIC =====
                 if (!AnimationManager.isAnimating() && !AnimationManager.isAnimationFinished()) {
-                    // Wait for chunk compiler to populate queue
-                    if (System.currentTimeMillis() - chunkReloadStartTime < 1000) {
+                    // Wait until region sections are rebuilt and uploaded
+                    if (!SectionReadinessManager.isReady()) {
+                        client.player.displayClientMessage(Component.literal("Building region sections: %d/%d".formatted(
+                                SectionReadinessManager.getBuiltSections(),
+                                SectionReadinessManager.getExpectedSections()
+                        )), true);
                         return;
                     }
 
-                    // Wait for chunk compiler to finish building meshes
-                    boolean chunksCompiling = !client.levelRenderer.getSectionRenderDispatcher().isQueueEmpty();
-                    if (chunksCompiling) {
+                    // Wait until encoder calibration finishes so recording starts without stalling client thread
+                    if (!EncoderProfileManager.isPrepared()) {
+                        client.player.displayClientMessage(Component.literal("Calibrating encoder..."), true);
                         return;
                     }
 
+                    // Initialize buffer pool based on output dimensions then start streaming thread to encode frames
+                    int width = RenderTargetManager.getWidth();
+                    int height = RenderTargetManager.getHeight();
+                    BufferPool.init(width * height * 3, RenderConfig.getBufferBudgetBytes());
+                    VideoStreamManager.startRecording(width, height);
+                    FrameCaptureManager.startCapture(width, height);
+
                     // Start animation after chunks fully loaded
+                    client.options.hideGui = true;
                     AnimationManager.startAnimation();
-                    CommandRunner.runCommand("/tick step %d".formatted(AnimationManager.getDurationTicks()));
+                    if (RenderConfig.offlineRender) {
+                        // Ticks are stepped one frame batch at a time by offline clock
+                        OfflineRenderManager.start();
+                    } else {
+                        CommandRunner.runCommand("/tick step %d".formatted(AnimationManager.getDurationTicks()));
+                    }
                 }
 
                 // ===== END ANIMATION LOGIC =====
@@ -147,30 +246,44 @@ public class CreateAnimationCommand {
     }
 
     private static void preAnimationInit(FabricClientCommandSource source) {
-        // Reload chunks to ensure all render changes are applied before starting animation
-        source.getClient().execute(source.getClient().levelRenderer::allChanged);
-
-        // Initialize buffer pool based on window dimensions
-        int width = source.getClient().getWindow().getWidth();
-        int height = source.getClient().getWindow().getHeight();
-        BufferPool.init(width * height * 3);
-
-        // Start streaming thread to encode frames
-        VideoStreamManager.startRecording(width, height);
-
-        // Set render settings for animation
-        source.getClient().options.hideGui = true;
-        source.getClient().options.framerateLimit().set(RenderConfig.renderFps);
-        CommandRunner.runCommand("/tick rate %s".formatted(RenderConfig.tickRate));
-
-        // Record time chunks were reloaded
-        chunkReloadStartTime = System.currentTimeMillis();
+        // Only load and mesh chunks around region footprint during animation
+        boolean rendererReloaded = RenderDistanceManager.clampToRegion(AnimationManager.getActiveRegion(), CameraManager.getPosition());
+
+        // Rebuild only sections whose visible blocks change with new region
+        RegionMask regionMask = AnimationManager.getRegionMask();
+        SectionReadinessManager.beginTracking();
+        source.getClient().execute(() -> SectionInvalidationManager.applyRegion(regionMask, rendererReloaded));
+
+        // Render offscreen at configured output size, encoder needs even dimensions
+        int width = RenderConfig.outputWidth > 0 ? RenderConfig.outputWidth : source.getClient().getWindow().getWidth();
+        int height = RenderConfig.outputHeight > 0 ? RenderConfig.outputHeight : source.getClient().getWindow().getHeight();
+        width &= ~1;
+        height &= ~1;
+        RenderTargetManager.begin(width, height);
+
+        // Measure encoder presets in background while region sections are rebuilt
+        EncoderProfileManager.prepare(width, height);
+
+        // Set render settings for animation, GUI stays visible to show build progress until start
+        if (RenderConfig.offlineRender) {
+            // Render as fast as possible, frame timing comes from offline clock
+            source.getClient().options.framerateLimit().set(UNLIMITED_FRAMERATE);
+            source.getClient().options.enableVsync().set(false);
+            CommandRunner.runCommand("/tick rate %s".formatted(OfflineRenderManager.STEP_TICK_RATE));
+        } else {
+            source.getClient().options.framerateLimit().set(RenderConfig.renderFps);
+            CommandRunner.runCommand("/tick rate %s".formatted(RenderConfig.tickRate));
+        }
     }
 
     private static void postAnimationCleanup(FabricClientCommandSource source, int origFps) {
+        // Flush frames still being read back before finishing video
+        FrameCaptureManager.stopCapture();
+        RenderTargetManager.end();
         VideoStreamManager.stopRecording(source);
 
         // Stop and clear animation state
+        OfflineRenderManager.stop();
         AnimationManager.stopAnimation();
         AnimationManager.clearAnimation();
         source.getClient().options.hideGui = false; // Unhide GUI after animation
@@ -180,10 +293,12 @@ public class CreateAnimationCommand {
 
         // Reset original game settings
         source.getClient().options.framerateLimit().set(origFps);
+        source.getClient().options.enableVsync().set(AnimationManager.getOriginalVsync());
         CommandRunner.runCommand("/tick rate %f".formatted(RenderConfig.TICKS_PER_SECOND));
 
-        // Reload chunks to reset render changes
-        source.getClient().execute(source.getClient().levelRenderer::allChanged);
+        // Restore render distance and rebuild sections hidden by region to reset render changes
+        RenderDistanceManager.restore();
+        source.getClient().execute(() -> SectionInvalidationManager.applyRegion(null));
     }
 
     private static int positionCamera(CommandContext<FabricClientCommandSource> context) {
@@ -19,7 +19,7 @@ public record AnimationConfig(BlockPos pos1, BlockPos pos2, int scale, int pitch
         return new AnimationConfig(pos1, pos2, scale, pitch, yaw, duration);
     }
 
-    private static BlockPos getBlockPosArgument(CommandContext<FabricClientCommandSource> context, String name) {
+    public static BlockPos getBlockPosArgument(CommandContext<FabricClientCommandSource> context, String name) {
         WorldCoordinates coords = context.getArgument(name, WorldCoordinates.class);
         return coords.getBlockPos(Objects.requireNonNull(context.getSource().getClient().getSingleplayerServer().createCommandSourceStack())); // wtf is this
     }
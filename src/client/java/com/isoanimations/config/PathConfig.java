@@ -5,7 +5,16 @@ import net.fabricmc.loader.api.FabricLoader;
 import java.nio.file.Path;
 
 public class PathConfig {
-    public static final Path ISOANIMATIONS_ROOT = FabricLoader.getInstance().getGameDir().resolve("isoanimations");
+    public static final Path ISOANIMATIONS_ROOT = getRoot();
     public static final Path FRAME_EXPORT_DIR = ISOANIMATIONS_ROOT.resolve("frames");
     public static final Path ANIMATION_EXPORT_DIR = ISOANIMATIONS_ROOT.resolve("animations");
+    public static final Path SEGMENT_DIR = ISOANIMATIONS_ROOT.resolve("segments");
+    public static final Path SPOOL_DIR = ISOANIMATIONS_ROOT.resolve("spool");
+    public static final Path INTERMEDIATE_DIR = ISOANIMATIONS_ROOT.resolve("intermediate");
+
+    private static Path getRoot() {
+        // Benchmarks run without Fabric Loader, so they point exports at their own folder
+        String override = System.getProperty("isoanimations.root");
+        return override != null ? Path.of(override) : FabricLoader.getInstance().getGameDir().resolve("isoanimations");
+    }
 }
@@ -6,9 +6,49 @@ import java.util.Properties;
 import static com.isoanimations.IsometricAnimations.LOGGER;
 
 public class RenderConfig {
+    public enum CaptureDedup {
+        OFF,  // Capture and encode every frame
+        HASH, // Read back every frame but send unchanged frames as repeats
+        TICK  // Read back once per game tick and repeat it until next tick
+    }
+
+    public enum Projection {
+        PERSPECTIVE, // Narrow FOV camera placed far from region
+        ORTHOGRAPHIC // Parallel projection with camera just outside region
+    }
+
+    public enum ExportMode {
+        VIDEO, // Encode frames into a single video file
+        IMAGES // Write every frame as its own image file
+    }
+
+    public enum ImageFormat {
+        PNG, // Lossless deflate, smallest files but slowest to write
+        TGA, // Uncompressed, fastest to write
+        QOI  // Lossless and fast, not supported by every editor
+    }
+
     public static final double TICKS_PER_SECOND = 20;
     public static int renderFps = 60;
     public static double tickRate = 5;
+    public static int encoderWorkers = 1;
+    public static double segmentSeconds = 2.0;
+    public static boolean spillToDisk = true;
+    public static boolean offlineRender = false;
+    public static CaptureDedup captureDedup = CaptureDedup.OFF;
+    public static int bufferBudgetMb = 512;
+    public static Projection projection = Projection.PERSPECTIVE;
+    public static int outputWidth = 0;  // 0 = use window width
+    public static int outputHeight = 0; // 0 = use window height
+    public static String encoderProfile = "x264"; // Built-in profile name or "auto"
+    public static String encoderPreset = "";      // Empty = profile default
+    public static int encoderCrf = -1;            // -1 = profile default
+    public static int encoderThreads = 0;         // 0 = codec default
+    public static String encoderTune = "";        // Empty = profile default
+    public static boolean twoPhaseExport = false;
+    public static String intermediateProfile = "ffv1";
+    public static ExportMode exportMode = ExportMode.VIDEO;
+    public static ImageFormat imageFormat = ImageFormat.PNG;
     private static File configFile = new File(PathConfig.ISOANIMATIONS_ROOT.resolve("render.cfg").toUri());
 
     public static void loadConfig() {
@@ -18,6 +58,24 @@ public class RenderConfig {
                 props.load(reader);
                 renderFps = Integer.parseInt(props.getProperty("render_fps", String.valueOf(renderFps)));
                 tickRate = Double.parseDouble(props.getProperty("tick_rate", String.valueOf(tickRate)));
+                encoderWorkers = Integer.parseInt(props.getProperty("encoder_workers", String.valueOf(encoderWorkers)));
+                segmentSeconds = Double.parseDouble(props.getProperty("segment_seconds", String.valueOf(segmentSeconds)));
+                spillToDisk = Boolean.parseBoolean(props.getProperty("spill_to_disk", String.valueOf(spillToDisk)));
+                offlineRender = Boolean.parseBoolean(props.getProperty("offline_render", String.valueOf(offlineRender)));
+                captureDedup = CaptureDedup.valueOf(props.getProperty("capture_dedup", captureDedup.name()).toUpperCase());
+                bufferBudgetMb = Integer.parseInt(props.getProperty("buffer_budget_mb", String.valueOf(bufferBudgetMb)));
+                projection = Projection.valueOf(props.getProperty("projection", projection.name()).toUpperCase());
+                outputWidth = Integer.parseInt(props.getProperty("output_width", String.valueOf(outputWidth)));
+                outputHeight = Integer.parseInt(props.getProperty("output_height", String.valueOf(outputHeight)));
+                encoderProfile = props.getProperty("encoder_profile", encoderProfile).trim().toLowerCase();
+                encoderPreset = props.getProperty("encoder_preset", encoderPreset).trim();
+                encoderCrf = Integer.parseInt(props.getProperty("encoder_crf", String.valueOf(encoderCrf)));
+                encoderThreads = Integer.parseInt(props.getProperty("encoder_threads", String.valueOf(encoderThreads)));
+                encoderTune = props.getProperty("encoder_tune", encoderTune).trim();
+                twoPhaseExport = Boolean.parseBoolean(props.getProperty("two_phase_export", String.valueOf(twoPhaseExport)));
+                intermediateProfile = props.getProperty("intermediate_profile", intermediateProfile).trim().toLowerCase();
+                exportMode = ExportMode.valueOf(props.getProperty("export_mode", exportMode.name()).toUpperCase());
+                imageFormat = ImageFormat.valueOf(props.getProperty("image_format", imageFormat.name()).toUpperCase());
 
                 LOGGER.info("Rendering videos at {} FPS and {} TPS", renderFps, tickRate);
             } catch (Exception e) {
@@ -40,6 +98,24 @@ public class RenderConfig {
         Properties props = new Properties();
         props.setProperty("render_fps", String.valueOf(renderFps));
         props.setProperty("tick_rate", String.valueOf(tickRate));
+        props.setProperty("encoder_workers", String.valueOf(encoderWorkers));
+        props.setProperty("segment_seconds", String.valueOf(segmentSeconds));
+        props.setProperty("spill_to_disk", String.valueOf(spillToDisk));
+        props.setProperty("offline_render", String.valueOf(offlineRender));
+        props.setProperty("capture_dedup", captureDedup.name().toLowerCase());
+        props.setProperty("buffer_budget_mb", String.valueOf(bufferBudgetMb));
+        props.setProperty("projection", projection.name().toLowerCase());
+        props.setProperty("output_width", String.valueOf(outputWidth));
+        props.setProperty("output_height", String.valueOf(outputHeight));
+        props.setProperty("encoder_profile", encoderProfile);
+        props.setProperty("encoder_preset", encoderPreset);
+        props.setProperty("encoder_crf", String.valueOf(encoderCrf));
+        props.setProperty("encoder_threads", String.valueOf(encoderThreads));
+        props.setProperty("encoder_tune", encoderTune);
+        props.setProperty("two_phase_export", String.valueOf(twoPhaseExport));
+        props.setProperty("intermediate_profile", intermediateProfile);
+        props.setProperty("export_mode", exportMode.name().toLowerCase());
+        props.setProperty("image_format", imageFormat.name().toLowerCase());
 
         // Save to file
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(configFile))) {
@@ -57,6 +133,10 @@ public class RenderConfig {
         RenderConfig.tickRate = tickRate;
     }
 
+    public static long getBufferBudgetBytes() {
+        return bufferBudgetMb * 1024L * 1024L;
+    }
+
     public static double getOutputFps() {
         return (renderFps * TICKS_PER_SECOND) / tickRate;
     }
@@ -1,23 +1,26 @@
 package com.isoanimations.manager;
 
+import com.isoanimations.util.RegionMask;
+import com.isoanimations.util.RegionSnapshot;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AnimationManager {
     // Animation Region
-    private static AABB activeRegion = null;
     private static BlockPos minPos;
     private static BlockPos maxPos;
 
-    // Fast Access for Region Checks
-    public static int minX, minY, minZ;
-    public static int maxX, maxY, maxZ;
-    public static boolean hasActiveRegion = false;
+    // Region state read lock-free by chunk builder threads
+    private static final AtomicReference<RegionSnapshot> regionSnapshot = new AtomicReference<>(RegionSnapshot.NONE);
 
+    // Extra boxes added to or cut from base region on next create
+    private static final List<RegionMask.Box> selectionBoxes = new ArrayList<>();
 
     // Animation State
     private static final AtomicBoolean isAnimating = new AtomicBoolean(false);
@@ -29,23 +32,12 @@ public class AnimationManager {
     private static long startTick;
     private static long endTick;
     private static int originalFps;
+    private static boolean originalVsync;
 
     public static void createAnimation(BlockPos pos1, BlockPos pos2, int durationTicks) {
-        clearAnimation();
-
-        // Setup region states
-        AnimationManager.minPos = BlockPos.min(pos1, pos2);
-        AnimationManager.maxPos = BlockPos.max(pos2, pos2);
-        activeRegion = AABB.of(BoundingBox.fromCorners(pos1, pos2));
-
-        // Calculate min/max for easier checks
-        minX = AnimationManager.minPos.getX();
-        minY = AnimationManager.minPos.getY();
-        minZ = AnimationManager.minPos.getZ();
-        maxX = AnimationManager.maxPos.getX();
-        maxY = AnimationManager.maxPos.getY();
-        maxZ = AnimationManager.maxPos.getZ();
-        hasActiveRegion = true;
+        // Region is replaced rather than cleared so same region keeps its built meshes
+        resetState();
+        setRegion(pos1, pos2);
 
         // Setup time states
         AnimationManager.durationTicks = durationTicks;
@@ -53,10 +45,31 @@ public class AnimationManager {
         endTick = startTick + durationTicks;
     }
 
+    public static void previewRegion(BlockPos pos1, BlockPos pos2) {
+        // Show region without animating so meshes are ready for create with same region
+        resetState();
+        setRegion(pos1, pos2);
+        testingPosition = true;
+    }
+
     public static void clearAnimation() {
-        activeRegion = null;
-        hasActiveRegion = false;
+        resetState();
+        publishRegion(null);
+    }
 
+    private static void setRegion(BlockPos pos1, BlockPos pos2) {
+        // Setup region states
+        AnimationManager.minPos = BlockPos.min(pos1, pos2);
+        AnimationManager.maxPos = BlockPos.max(pos1, pos2);
+
+        // Compile base box and extra selection boxes into voxel mask for allocation free checks
+        List<RegionMask.Box> boxes = new ArrayList<>();
+        boxes.add(RegionMask.Box.fromCorners(pos1, pos2, false));
+        boxes.addAll(selectionBoxes);
+        publishRegion(RegionMask.compile(boxes));
+    }
+
+    private static void resetState() {
         minPos = null;
         maxPos = null;
 
@@ -79,8 +92,34 @@ public class AnimationManager {
         animationFinished.set(true);
     }
 
-    public static boolean inActiveRegion(int x, int y, int z) {
-        return activeRegion.contains(x, y, z);
+    public static void addSelectionBox(BlockPos pos1, BlockPos pos2, boolean subtract) {
+        selectionBoxes.add(RegionMask.Box.fromCorners(pos1, pos2, subtract));
+    }
+
+    public static void clearSelectionBoxes() {
+        selectionBoxes.clear();
+    }
+
+    public static int getSelectionBoxCount() {
+        return selectionBoxes.size();
+    }
+
+    private static void publishRegion(RegionMask mask) {
+        // Every change gets a new version so builds started against old region can be discarded
+        // Same region keeps its snapshot so builds in flight and built meshes stay valid
+        RegionSnapshot previous = regionSnapshot.get();
+        if (previous.mask() == null ? mask == null : previous.mask().sameBlocks(mask)) {
+            return;
+        }
+        regionSnapshot.set(RegionSnapshot.of(previous.version() + 1, mask));
+    }
+
+    public static RegionSnapshot getRegionSnapshot() {
+        return regionSnapshot.get();
+    }
+
+    public static RegionMask getRegionMask() {
+        return regionSnapshot.get().mask();
     }
 
     public static BlockPos getMinPos() {
@@ -92,7 +131,7 @@ public class AnimationManager {
     }
 
     public static AABB getActiveRegion() {
-        return activeRegion;
+        return regionSnapshot.get().bounds();
     }
 
     public static boolean isAnimating() {
@@ -123,8 +162,12 @@ public class AnimationManager {
         return originalFps;
     }
 
-    public static void setTestingPosition(boolean isTesting) {
-        testingPosition = isTesting;
+    public static void setOriginalVsync(boolean vsync) {
+        originalVsync = vsync;
+    }
+
+    public static boolean getOriginalVsync() {
+        return originalVsync;
     }
 
     public static boolean isTestingPosition() {
@@ -0,0 +1,210 @@
+package com.isoanimations.manager;
+
+import com.isoanimations.config.PathConfig;
+import com.isoanimations.config.RenderConfig;
+import com.isoanimations.util.EncoderProfile;
+import com.isoanimations.util.ExportFrame;
+import com.isoanimations.util.FrameEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class EncoderProfileManager {
+    public static final String AUTO_PROFILE = "auto";
+
+    // x264 presets from highest quality to fastest, tried in order by calibration
+    private static final String[] AUTO_PRESETS = {"slow", "medium", "fast", "faster", "veryfast", "superfast", "ultrafast"};
+    // Warmup runs past x264 rc-lookahead (40 at medium, 50 at slow) plus frame thread delay, so timed frames each emit a packet
+    private static final int CALIBRATION_WARMUP_FRAMES = 64;
+    private static final int CALIBRATION_FRAMES = 32;
+    // More distinct frames than slow preset has references, so no frame matches a reference exactly
+    private static final int CALIBRATION_SOURCE_FRAMES = 6;
+    private static final double CALIBRATION_HEADROOM = 1.2;
+
+    // Calibrated presets per resolution, required fps and profile overrides, kept for game session
+    private static final Map<String, String> calibratedPresets = new ConcurrentHashMap<>();
+
+    // Background calibration started before capture, done when nothing needs calibrating
+    private static CompletableFuture<Void> calibration = CompletableFuture.completedFuture(null);
+
+    public static void prepare(int width, int height) {
+        // Calibrate off client thread so game keeps rendering while presets are measured
+        if (!needsCalibration()) {
+            return;
+        }
+        EncoderProfile baseProfile = applyOverrides(EncoderProfile.X264);
+        calibration = CompletableFuture.runAsync(() -> calibrate(baseProfile, width, height), task -> {
+            Thread thread = new Thread(task);
+            thread.setName("Encoder Calibration Thread");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    public static boolean isPrepared() {
+        return calibration.isDone();
+    }
+
+    public static EncoderProfile resolve(int width, int height, boolean realtime) {
+        EncoderProfile profile;
+        if (AUTO_PROFILE.equalsIgnoreCase(RenderConfig.encoderProfile)) {
+            // Explicit preset skips calibration, offline transcodes have no fps target so keep default preset
+            profile = applyOverrides(EncoderProfile.X264);
+            if (realtime && RenderConfig.encoderPreset.isEmpty()) {
+                profile = profile.withPreset(calibrate(profile, width, height));
+            }
+        } else {
+            profile = EncoderProfile.get(RenderConfig.encoderProfile);
+            if (profile == null) {
+                LOGGER.warn("Unknown encoder profile '{}', using {}", RenderConfig.encoderProfile, EncoderProfile.DEFAULT.name());
+                profile = EncoderProfile.DEFAULT;
+            }
+            profile = applyOverrides(profile);
+        }
+
+        LOGGER.info("Using encoder profile {}", profile);
+        return profile;
+    }
+
+    public static EncoderProfile resolveIntermediate() {
+        // Intra-only codec used for capture in two phase export, threads left to codec
+        EncoderProfile profile = EncoderProfile.get(RenderConfig.intermediateProfile);
+        if (profile == null) {
+            LOGGER.warn("Unknown intermediate profile '{}', using {}", RenderConfig.intermediateProfile, EncoderProfile.FFV1.name());
+            profile = EncoderProfile.FFV1;
+        }
+        return profile;
+    }
+
+    private static boolean needsCalibration() {
+        // Only realtime video capture with auto profile and no explicit preset is calibrated
+        return AUTO_PROFILE.equalsIgnoreCase(RenderConfig.encoderProfile)
+                && RenderConfig.encoderPreset.isEmpty()
+                && RenderConfig.exportMode == RenderConfig.ExportMode.VIDEO
+                && !RenderConfig.twoPhaseExport;
+    }
+
+    private static EncoderProfile applyOverrides(EncoderProfile profile) {
+        // Apply overrides from render config
+        if (!RenderConfig.encoderPreset.isEmpty()) {
+            profile = profile.withPreset(RenderConfig.encoderPreset);
+        }
+        if (RenderConfig.encoderCrf >= 0) {
+            profile = profile.withCrf(RenderConfig.encoderCrf);
+        }
+        if (RenderConfig.encoderThreads > 0) {
+            profile = profile.withThreads(RenderConfig.encoderThreads);
+        }
+        if (!RenderConfig.encoderTune.isEmpty()) {
+            profile = profile.withTune(RenderConfig.encoderTune);
+        }
+        return profile;
+    }
+
+    private static String calibrate(EncoderProfile baseProfile, int width, int height) {
+        // Workers share cores, so together they have to keep up with full capture rate
+        int workers = Math.max(1, RenderConfig.encoderWorkers);
+        double requiredFps = RenderConfig.renderFps * CALIBRATION_HEADROOM;
+        String key = "%dx%d@%.1f/%d %s".formatted(width, height, requiredFps, workers, baseProfile.withPreset(""));
+        String cached = calibratedPresets.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Synthetic frames with moving detail so encoder does realistic work, filled up front so timing is encode only
+        // Encoders only read frames, so workers share them
+        ByteBuffer[] frames = new ByteBuffer[CALIBRATION_SOURCE_FRAMES];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = ByteBuffer.allocateDirect(width * height * 3);
+            fillSyntheticFrame(frames[i], width, height, i);
+        }
+
+        String chosen = AUTO_PRESETS[AUTO_PRESETS.length - 1];
+        for (String preset : AUTO_PRESETS) {
+            double fps = measureFps(baseProfile.withPreset(preset), frames, workers, width, height);
+            LOGGER.info("Encoder calibration: preset {} with {} workers encodes {}x{} at {} fps (need {})", preset, workers, width, height, "%.1f".formatted(fps), "%.1f".formatted(requiredFps));
+            if (fps >= requiredFps) {
+                chosen = preset;
+                break;
+            }
+        }
+
+        calibratedPresets.put(key, chosen);
+        return chosen;
+    }
+
+    private static double measureFps(EncoderProfile profile, ByteBuffer[] frames, int workers, int width, int height) {
+        // Run one encoder per worker at once so they compete for cores like they do while recording
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Path calibrationFile = PathConfig.ISOANIMATIONS_ROOT.resolve("calibration_%d.mp4".formatted(i));
+            int firstFrame = i;
+            results.add(CompletableFuture.supplyAsync(() -> measureWorkerFps(profile, calibrationFile, frames, firstFrame, width, height), task -> {
+                Thread thread = new Thread(task);
+                thread.setName("Encoder Calibration Worker");
+                thread.setDaemon(true);
+                thread.start();
+            }));
+        }
+
+        // Total throughput of all workers running together
+        double totalFps = 0;
+        for (CompletableFuture<Double> result : results) {
+            totalFps += result.join();
+        }
+        return totalFps;
+    }
+
+    private static double measureWorkerFps(EncoderProfile profile, Path outputFile, ByteBuffer[] frames, int firstFrame, int width, int height) {
+        try {
+            FrameEncoder encoder = new FrameEncoder(outputFile, width, height, RenderConfig.getOutputFps(), profile);
+            long elapsedNanos;
+            try {
+                // Once lookahead is full every encode call outputs a packet, so steady state rate is timed
+                for (int i = 0; i < CALIBRATION_WARMUP_FRAMES; i++) {
+                    encoder.encode(new ExportFrame(frames[(firstFrame + i) % frames.length], i));
+                }
+                long startNanos = System.nanoTime();
+                for (int i = CALIBRATION_WARMUP_FRAMES; i < CALIBRATION_WARMUP_FRAMES + CALIBRATION_FRAMES; i++) {
+                    encoder.encode(new ExportFrame(frames[(firstFrame + i) % frames.length], i));
+                }
+                elapsedNanos = System.nanoTime() - startNanos;
+            } finally {
+                // Flushing lookahead and writing trailer happen once per recording, not per frame
+                encoder.finish();
+            }
+            return CALIBRATION_FRAMES / (elapsedNanos / 1e9);
+        } catch (Exception e) {
+            LOGGER.error("Encoder calibration failed for preset {}", profile.preset(), e);
+            return 0;
+        } finally {
+            try {
+                Files.deleteIfExists(outputFile);
+            } catch (Exception e) {
+                LOGGER.warn("Failed to delete encoder calibration file", e);
+            }
+        }
+    }
+
+    private static void fillSyntheticFrame(ByteBuffer frame, int width, int height, int frameIndex) {
+        // Scrolling gradient with hashed noise, roughly as hard to encode as a detailed scene
+        byte[] row = new byte[width * 3];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int hash = (x * 73856093) ^ (y * 19349663) ^ (frameIndex * 83492791);
+                row[x * 3] = (byte) (x + frameIndex * 4);
+                row[x * 3 + 1] = (byte) (y + (hash & 15));
+                row[x * 3 + 2] = (byte) ((x ^ y) + (hash >> 8 & 31));
+            }
+            frame.put(y * row.length, row);
+        }
+    }
+}
@@ -1,106 +1,219 @@
 package com.isoanimations.manager;
 
-import com.isoanimations.util.BufferPool;
-import com.isoanimations.util.ExportFrame;
-import com.mojang.blaze3d.platform.Window;
+import com.isoanimations.config.RenderConfig;
+import com.isoanimations.util.FrameStageEvent;
+import com.isoanimations.util.PipelineStats;
 import net.minecraft.client.Minecraft;
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
 import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
 
 import java.nio.ByteBuffer;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
 
 import static com.isoanimations.IsometricAnimations.LOGGER;
 
 public class FrameCaptureManager {
     private static final int QUEUE_SIZE = 3;
-    private static final Queue<QueuedFrame> frameQueue = new LinkedList<>();
+    private static final long FENCE_TIMEOUT_NANOS = 1_000_000; // 1ms per wait
+
+    // Ring of pixel buffer objects used for async readback
+    private static final int[] pixelBuffers = new int[QUEUE_SIZE];
+    private static final long[] fences = new long[QUEUE_SIZE];
+    private static final long[] captureTimes = new long[QUEUE_SIZE];
+    private static final boolean[] repeatSlots = new boolean[QUEUE_SIZE];
+    private static int ringWidth = 0;
+    private static int ringHeight = 0;
+    private static int writeIndex = 0;
+    private static int pendingFrames = 0;
+
+    // Duplicate frame detection
+    private static long lastCapturedTick = Long.MIN_VALUE;
+    private static long lastFrameHash = 0;
+    private static boolean hasLastFrameHash = false;
+
+    public static void startCapture(int width, int height) {
+        // Allocate ring once per recording session
+        ensureRing(width, height);
+
+        // Forget frames from previous session
+        lastCapturedTick = Long.MIN_VALUE;
+        hasLastFrameHash = false;
+    }
 
-    private record QueuedFrame(int textureId, long captureTime) {
+    public static void stopCapture() {
+        // Send frames still in flight to encoder before freeing ring
+        flushQueue();
+        deleteRing();
     }
 
     public static void captureFrame(int width, int height) {
-        // Generate texture for this frame
-        int textureId = GL11.glGenTextures();
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+        // Rebuild ring only if window was resized mid-recording
+        if (width != ringWidth || height != ringHeight) {
+            flushQueue();
+            ensureRing(width, height);
+        }
 
-        // Allocate VRAM for texture
-        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGB, width, height, 0, GL11.GL_RGB, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        // Process oldest frame if ring is full so its slot can be reused
+        if (pendingFrames >= QUEUE_SIZE) {
+            processOldestFrame();
+        }
 
-        // Copy framebuffer into texture
-        GL11.glCopyTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, 0, 0, 0, width, height);
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        // Skip readback if this tick was already captured, frame is queued as repeat instead
+        if (RenderConfig.captureDedup == RenderConfig.CaptureDedup.TICK) {
+            long gameTime = Minecraft.getInstance().level.getGameTime();
+            if (gameTime == lastCapturedTick) {
+                repeatSlots[writeIndex] = true;
+                captureTimes[writeIndex] = System.nanoTime() / 1000;
+                writeIndex = (writeIndex + 1) % QUEUE_SIZE;
+                pendingFrames++;
+                return;
+            }
+            lastCapturedTick = gameTime;
+        }
 
-        // Add to queue
-        long captureTime = System.nanoTime() / 1000;
-        frameQueue.add(new QueuedFrame(textureId, captureTime));
+        // Start async copy of offscreen target into next pixel buffer
+        FrameStageEvent stageEvent = PipelineStats.begin();
+        GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, RenderTargetManager.getReadFramebuffer());
+        GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1); // Pack with 1 byte alignment + no padding
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pixelBuffers[writeIndex]);
+        GL11.glReadPixels(0, 0, width, height, GL12.GL_BGR, GL11.GL_UNSIGNED_BYTE, 0L); // BGR24 layout recorder and converters expect
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+        GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 4); // Restore default pack alignment
+        GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, 0);
+
+        // Insert fence so we know when the copy has finished on the GPU
+        fences[writeIndex] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        captureTimes[writeIndex] = System.nanoTime() / 1000;
+        PipelineStats.end(PipelineStats.Stage.CAPTURE, stageEvent);
+
+        // Advance ring
+        writeIndex = (writeIndex + 1) % QUEUE_SIZE;
+        pendingFrames++;
+    }
 
-        // Process oldest frame if queue is full
-        if (frameQueue.size() >= QUEUE_SIZE) {
-            processOldestFrame(width, height);
+    private static void ensureRing(int width, int height) {
+        // Only reallocate if window size changed
+        if (width == ringWidth && height == ringHeight) {
+            return;
         }
+
+        // Free buffers allocated for old size
+        deleteRing();
+
+        // Allocate pixel buffers for new size
+        long frameSize = (long) width * height * 3;
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            pixelBuffers[i] = GL15.glGenBuffers();
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pixelBuffers[i]);
+            GL15.glBufferData(GL21.GL_PIXEL_PACK_BUFFER, frameSize, GL15.GL_STREAM_READ);
+        }
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+
+        ringWidth = width;
+        ringHeight = height;
     }
 
-//    public static void captureFrame() {
-//        Window window = Minecraft.getInstance().getWindow();
-//        int width = window.getWidth();
-//        int height = window.getHeight();
-//
-//        // Block until buffer available
-//        ByteBuffer frameData = BufferPool.getBufferBlocking();
-//        if (frameData != null) {
-//            try {
-//                // Set frame buffer properties
-//                int frameSize = width * height * 3; // BGR format
-//                frameData.clear();
-//                frameData.limit(frameSize);
-//
-//                // Read pixels into framebuffer
-//                GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1); // Pack with 1 byte alignment + no padding
-//                GL11.glReadPixels(0, 0, width, height, GL15.GL_BGR, GL11.GL_UNSIGNED_BYTE, frameData);
-//                GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 4); // Restore default unpack alignment
-//
-//                // Queue frame for encoding
-//                long captureTime = System.nanoTime() / 1000;
-//                VideoStreamManager.addFrameToQueue(new ExportFrame(frameData, captureTime));
-//            } catch (Exception e) {
-//                LOGGER.error("Failed to capture frame", e);
-//                BufferPool.returnBuffer(frameData);
-//            }
-//        }
-//    }
-
-    private static void processOldestFrame(int width, int height) {
-        QueuedFrame oldest = frameQueue.poll();
-        if (oldest != null) {
-            ByteBuffer frameData = BufferPool.getBufferBlocking();
-            if (frameData != null) {
-                try {
-                    // Initialize frame buffer
-                    frameData.clear();
-                    frameData.limit(width * height * 3);
-
-                    // Copy texture to frame buffer
-                    GL11.glBindTexture(GL11.GL_TEXTURE_2D, oldest.textureId());
-                    GL11.glGetTexImage(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGB, GL11.GL_UNSIGNED_BYTE, frameData);
-
-                    // Send frame data for encoding
-                    VideoStreamManager.addFrameToQueue(new ExportFrame(frameData, oldest.captureTime()));
-                } catch (Exception e) {
-                    BufferPool.returnBuffer(frameData);
+    private static void deleteRing() {
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            repeatSlots[i] = false;
+            if (fences[i] != 0) {
+                GL32.glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+            if (pixelBuffers[i] != 0) {
+                GL15.glDeleteBuffers(pixelBuffers[i]);
+                pixelBuffers[i] = 0;
+            }
+        }
+
+        ringWidth = 0;
+        ringHeight = 0;
+        writeIndex = 0;
+        pendingFrames = 0;
+    }
+
+    private static void processOldestFrame() {
+        int readIndex = Math.floorMod(writeIndex - pendingFrames, QUEUE_SIZE);
+        pendingFrames--;
+
+        // Repeated frames were never read back
+        if (repeatSlots[readIndex]) {
+            repeatSlots[readIndex] = false;
+            VideoStreamManager.submitRepeat(captureTimes[readIndex]);
+            return;
+        }
+
+        // Wait for GPU copy to finish before mapping (normally already signaled after QUEUE_SIZE frames)
+        FrameStageEvent stageEvent = PipelineStats.begin();
+        long fence = fences[readIndex];
+        int waitResult = GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+        while (waitResult == GL32.GL_TIMEOUT_EXPIRED) {
+            waitResult = GL32.glClientWaitSync(fence, 0, FENCE_TIMEOUT_NANOS);
+        }
+        GL32.glDeleteSync(fence);
+        fences[readIndex] = 0;
+
+        if (waitResult == GL32.GL_WAIT_FAILED) {
+            LOGGER.error("Failed waiting for frame readback fence, dropping frame");
+            return;
+        }
+
+        int frameSize = ringWidth * ringHeight * 3;
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pixelBuffers[readIndex]);
+        try {
+            // Hand mapped pixel buffer straight to encoder queue
+            ByteBuffer mapped = GL30.glMapBufferRange(GL21.GL_PIXEL_PACK_BUFFER, 0, frameSize, GL30.GL_MAP_READ_BIT);
+            if (mapped == null) {
+                throw new IllegalStateException("Failed to map pixel buffer");
+            }
+            PipelineStats.end(PipelineStats.Stage.READBACK, stageEvent);
+
+            // Send unchanged frames as repeats so they skip copy and encode
+            if (RenderConfig.captureDedup == RenderConfig.CaptureDedup.HASH) {
+                long frameHash = hashFrame(mapped);
+                boolean unchanged = hasLastFrameHash && frameHash == lastFrameHash;
+                lastFrameHash = frameHash;
+                hasLastFrameHash = true;
+
+                if (unchanged) {
+                    VideoStreamManager.submitRepeat(captureTimes[readIndex]);
+                    GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+                    return;
                 }
             }
 
-            // Clean up texture
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-            GL11.glDeleteTextures(oldest.textureId());
+            VideoStreamManager.submitFrame(mapped, captureTimes[readIndex]);
+            GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+        } catch (Exception e) {
+            LOGGER.error("Failed to read back frame", e);
+        } finally {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+        }
+    }
+
+    private static long hashFrame(ByteBuffer pixels) {
+        // FNV style hash over 8 bytes at a time
+        LongBuffer words = pixels.duplicate().order(ByteOrder.nativeOrder()).asLongBuffer();
+        long hash = 0xCBF29CE484222325L;
+        while (words.hasRemaining()) {
+            hash = (hash ^ words.get()) * 0x100000001B3L;
+        }
+
+        // Hash any leftover bytes
+        for (int i = words.capacity() * 8; i < pixels.limit(); i++) {
+            hash = (hash ^ pixels.get(i)) * 0x100000001B3L;
         }
+        return hash;
     }
 
-    private static void flushQueue(int width, int height) {
-        while (!frameQueue.isEmpty()) {
-            processOldestFrame(width, height);
+    private static void flushQueue() {
+        while (pendingFrames > 0) {
+            processOldestFrame();
         }
     }
 }
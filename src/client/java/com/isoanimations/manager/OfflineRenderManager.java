@@ -0,0 +1,88 @@
+package com.isoanimations.manager;
+
+import com.isoanimations.config.RenderConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.server.MinecraftServer;
+
+public class OfflineRenderManager {
+    // Very high server tick rate so each '/tick step' completes almost immediately
+    public static final float STEP_TICK_RATE = 10000;
+
+    private static boolean active = false;
+    private static long startTick;
+    private static long frameIndex;
+    private static double ticksPerFrame;
+
+    // Tick bookkeeping
+    private static long requestedTicks;
+    private static long clientTicks;
+    private static float partialTick;
+    private static boolean frameReady = false;
+
+    public static void start() {
+        MinecraftServer server = Minecraft.getInstance().getSingleplayerServer();
+        startTick = server != null ? server.overworld().getGameTime() : Minecraft.getInstance().level.getGameTime();
+        ticksPerFrame = RenderConfig.tickRate / RenderConfig.renderFps;
+        frameIndex = 0;
+        requestedTicks = 0;
+        clientTicks = 0;
+        partialTick = 0;
+        frameReady = false;
+        active = true;
+    }
+
+    public static void stop() {
+        active = false;
+        frameReady = false;
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    public static int advanceTime() {
+        // Exact tick position of next output frame
+        double framePosition = frameIndex * ticksPerFrame;
+        long neededTicks = (long) Math.floor(framePosition);
+
+        // Ask server to step up to tick this frame belongs to
+        if (neededTicks > requestedTicks) {
+            CommandRunner.runCommand("/tick step %d".formatted(neededTicks - requestedTicks));
+            requestedTicks = neededTicks;
+        }
+
+        // Hold clock until server has simulated every requested tick
+        if (getServerTicks() < requestedTicks) {
+            frameReady = false;
+            return 0;
+        }
+
+        // Run client ticks to catch up then render at exact partial tick
+        int ticks = (int) (neededTicks - clientTicks);
+        clientTicks = neededTicks;
+        partialTick = (float) (framePosition - neededTicks);
+        frameReady = true;
+        return ticks;
+    }
+
+    public static boolean isFrameReady() {
+        return active && frameReady;
+    }
+
+    public static void frameCaptured() {
+        frameReady = false;
+        frameIndex++;
+    }
+
+    public static float getPartialTick() {
+        return partialTick;
+    }
+
+    private static long getServerTicks() {
+        MinecraftServer server = Minecraft.getInstance().getSingleplayerServer();
+        if (server == null) {
+            return requestedTicks;
+        }
+        return server.overworld().getGameTime() - startTick;
+    }
+}
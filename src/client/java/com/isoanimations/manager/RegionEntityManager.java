@@ -0,0 +1,53 @@
+package com.isoanimations.manager;
+
+import com.isoanimations.util.RegionMask;
+import com.isoanimations.util.RegionSnapshot;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.AABB;
+
+public class RegionEntityManager {
+    // IDs of entities whose bounding box center was inside region at last tick
+    private static final IntOpenHashSet insideEntities = new IntOpenHashSet();
+    private static long cachedVersion = -1;
+
+    public static void register() {
+        ClientTickEvents.END_CLIENT_TICK.register(RegionEntityManager::update);
+    }
+
+    private static void update(Minecraft client) {
+        // Rebuild membership once per tick so every frame in tick sees same entities
+        RegionSnapshot snapshot = AnimationManager.getRegionSnapshot();
+        insideEntities.clear();
+        cachedVersion = snapshot.version();
+        if (snapshot.mask() == null || client.level == null) {
+            return;
+        }
+
+        // Spatial query only visits entity sections overlapping region bounds
+        RegionMask regionMask = snapshot.mask();
+        for (Entity entity : client.level.getEntities((Entity) null, snapshot.bounds(), entity -> isInside(regionMask, entity))) {
+            insideEntities.add(entity.getId());
+        }
+    }
+
+    public static boolean isInRegion(Entity entity) {
+        // Region changed since last tick, check directly until cache catches up
+        RegionSnapshot snapshot = AnimationManager.getRegionSnapshot();
+        if (snapshot.version() != cachedVersion) {
+            return snapshot.mask() == null || isInside(snapshot.mask(), entity);
+        }
+        return snapshot.mask() == null || insideEntities.contains(entity.getId());
+    }
+
+    private static boolean isInside(RegionMask regionMask, Entity entity) {
+        AABB box = entity.getBoundingBox();
+        return regionMask.containsPoint(
+                (box.minX + box.maxX) * 0.5,
+                (box.minY + box.maxY) * 0.5,
+                (box.minZ + box.maxZ) * 0.5
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package com.isoanimations.manager;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.Options;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class RenderDistanceManager {
+    // Extra chunks kept around region footprint
+    private static final int MARGIN_CHUNKS = 1;
+    private static final int MIN_RENDER_DISTANCE = 2;
+
+    // Render distance applied on top of player's setting while region is active, options themselves are never changed
+    private static volatile int clampedRenderDistance = -1;
+
+    public static boolean clampToRegion(AABB region, Vec3 cameraPos) {
+        Options options = Minecraft.getInstance().options;
+        int previousDistance = options.getEffectiveRenderDistance();
+
+        // Only meshes around region are needed, renderer follows detached camera
+        clampedRenderDistance = Math.max(MIN_RENDER_DISTANCE, getFootprintChunks(region, cameraPos));
+
+        // Changing render distance makes renderer rebuild every section, so report it
+        int renderDistance = options.getEffectiveRenderDistance();
+        boolean changed = renderDistance != previousDistance;
+        if (changed) {
+            LOGGER.info("Clamped render distance to {} chunks for animation region", renderDistance);
+        }
+        return changed;
+    }
+
+    public static int getClampedRenderDistance() {
+        return clampedRenderDistance;
+    }
+
+    private static int getFootprintChunks(AABB region, Vec3 origin) {
+        // Farthest horizontal region corner from origin chunk decides how many chunks are needed
+        int originChunkX = SectionPos.blockToSectionCoord(origin.x);
+        int originChunkZ = SectionPos.blockToSectionCoord(origin.z);
+        int dx = Math.max(Math.abs(SectionPos.blockToSectionCoord(region.minX) - originChunkX), Math.abs(SectionPos.blockToSectionCoord(region.maxX) - originChunkX));
+        int dz = Math.max(Math.abs(SectionPos.blockToSectionCoord(region.minZ) - originChunkZ), Math.abs(SectionPos.blockToSectionCoord(region.maxZ) - originChunkZ));
+        return (int) Math.ceil(Math.sqrt(dx * dx + dz * dz)) + MARGIN_CHUNKS;
+    }
+
+    public static void restore() {
+        // Renderer notices effective distance changed and rebuilds at player's setting
+        clampedRenderDistance = -1;
+    }
+}
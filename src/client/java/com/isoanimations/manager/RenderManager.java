@@ -1,5 +1,6 @@
 package com.isoanimations.manager;
 
+import com.isoanimations.config.RenderConfig;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
@@ -7,9 +8,17 @@ import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 public class RenderManager {
+    // Perspective framing factor, also used so orthographic framing matches it
+    private static final float FRAMING_FACTOR = 1.55f;
+
+    // Orthographic camera sits this many blocks outside region radius
+    private static final float ORTHO_CAMERA_MARGIN = 2.0f;
+    private static final float ORTHO_NEAR_PLANE = 0.05f;
+
     private static int pitch = 0;
     private static int yaw = 0;
     private static int scale = 100;
+    private static float regionRadius = 0;
 
     public static Vector3f getRenderPosition(BlockPos pos1, BlockPos pos2, Vec3 playerPos, float targetFov) {
         // Get animation region center
@@ -21,9 +30,13 @@ public class RenderManager {
         double dz = pos1.getZ() - pos2.getZ();
         float diagonalDistance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
         float radius = diagonalDistance / 2.0f;
+        regionRadius = radius;
 
-        // Calculate base distance from radius and FOV
-        float baseDistance = (radius / (float) Math.sin(Math.toRadians(targetFov / 2.0f))) * 1.55f;
+        // Orthographic view does not shrink with distance, so keep camera just outside region
+        boolean orthographic = RenderConfig.projection == RenderConfig.Projection.ORTHOGRAPHIC;
+        float baseDistance = orthographic
+                ? radius + ORTHO_CAMERA_MARGIN
+                : (radius / (float) Math.sin(Math.toRadians(targetFov / 2.0f))) * FRAMING_FACTOR;
 
         // Create target position at base distance
         Vector3f targetPos = new Vector3f(0, 0, baseDistance);
@@ -32,7 +45,10 @@ public class RenderManager {
         Matrix4f transform = new Matrix4f();
         transform.rotateY((float) Math.toRadians(pitch));
         transform.rotateX((float) Math.toRadians(yaw));
-        transform.scale(scale / 100.0f);
+        if (!orthographic) {
+            // Orthographic scale is applied to projection size instead
+            transform.scale(scale / 100.0f);
+        }
 
         // Apply transformations to player position
         transform.transformPosition(targetPos);
@@ -42,6 +58,17 @@ public class RenderManager {
         return targetPos;
     }
 
+    public static Matrix4f getOrthographicProjection(float aspectRatio) {
+        // Match visible height of perspective framing at same scale
+        float halfHeight = regionRadius * FRAMING_FACTOR * (scale / 100.0f);
+        float halfWidth = halfHeight * aspectRatio;
+
+        // Clamp depth range to region so nothing behind it is drawn or culled against
+        float cameraDistance = regionRadius + ORTHO_CAMERA_MARGIN;
+        float farPlane = cameraDistance + regionRadius + ORTHO_CAMERA_MARGIN;
+        return new Matrix4f().setOrtho(-halfWidth, halfWidth, -halfHeight, halfHeight, ORTHO_NEAR_PLANE, farPlane);
+    }
+
     public static Vector3f getCenterPosition(BlockPos pos1, BlockPos pos2) {
         return new AABB(
                 new Vec3(pos1.getX(), pos1.getY(), pos1.getZ()),
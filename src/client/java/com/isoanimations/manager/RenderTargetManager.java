@@ -0,0 +1,86 @@
+package com.isoanimations.manager;
+
+import com.mojang.blaze3d.opengl.GlTexture;
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.platform.Window;
+import net.minecraft.client.Minecraft;
+import org.lwjgl.opengl.GL30;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class RenderTargetManager {
+    private static boolean active = false;
+    private static int outputWidth = 0;
+    private static int outputHeight = 0;
+
+    // Framebuffer wrapping main target color texture so capture can read it directly
+    private static int readFramebuffer = 0;
+    private static int attachedTexture = 0;
+
+    public static void begin(int width, int height) {
+        outputWidth = width;
+        outputHeight = height;
+        active = true;
+
+        // Level is rendered at output size regardless of window size
+        applySize();
+        LOGGER.info("Rendering animation offscreen at {}x{}", width, height);
+    }
+
+    public static void end() {
+        if (!active) {
+            return;
+        }
+        active = false;
+
+        // Free capture framebuffer
+        if (readFramebuffer != 0) {
+            GL30.glDeleteFramebuffers(readFramebuffer);
+            readFramebuffer = 0;
+            attachedTexture = 0;
+        }
+
+        // Give main target back to window
+        Window window = Minecraft.getInstance().getWindow();
+        Minecraft.getInstance().getMainRenderTarget().resize(window.getWidth(), window.getHeight());
+    }
+
+    public static void applySize() {
+        // Called again after window resizes so output size stays fixed
+        RenderTarget mainTarget = Minecraft.getInstance().getMainRenderTarget();
+        if (mainTarget.width != outputWidth || mainTarget.height != outputHeight) {
+            mainTarget.resize(outputWidth, outputHeight);
+        }
+    }
+
+    public static int getReadFramebuffer() {
+        // Reattach if main target recreated its color texture
+        int texture = ((GlTexture) Minecraft.getInstance().getMainRenderTarget().getColorTexture()).glId();
+        if (readFramebuffer == 0) {
+            readFramebuffer = GL30.glGenFramebuffers();
+        }
+        if (texture != attachedTexture) {
+            GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, readFramebuffer);
+            GL30.glFramebufferTexture2D(GL30.GL_READ_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL30.GL_TEXTURE_2D, texture, 0);
+            GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, 0);
+            attachedTexture = texture;
+        }
+        return readFramebuffer;
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    public static float getAspectRatio() {
+        return (float) outputWidth / outputHeight;
+    }
+
+    public static int getWidth() {
+        return outputWidth;
+    }
+
+    public static int getHeight() {
+        return outputHeight;
+    }
+}
@@ -0,0 +1,93 @@
+package com.isoanimations.manager;
+
+import com.isoanimations.util.RegionMask;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.Vec3;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class SectionInvalidationManager {
+    // Mask the currently built section meshes were compiled with
+    private static RegionMask appliedMask = null;
+
+    public static void applyRegion(RegionMask newMask) {
+        applyRegion(newMask, false);
+    }
+
+    public static void applyRegion(RegionMask newMask, boolean rendererReloaded) {
+        Minecraft client = Minecraft.getInstance();
+        if (client.level == null) {
+            appliedMask = newMask;
+            return;
+        }
+
+        // Nothing to rebuild if meshes already match region, unless renderer threw them away
+        RegionMask oldMask = appliedMask;
+        appliedMask = newMask;
+        if (!rendererReloaded && (oldMask == newMask || (oldMask != null && oldMask.sameBlocks(newMask)))) {
+            return;
+        }
+
+        // Only sections within render distance of camera have meshes
+        Vec3 cameraPos = CameraManager.isDetached() ? CameraManager.getPosition() : client.player.position();
+        int renderDistance = client.options.getEffectiveRenderDistance();
+        int centerX = SectionPos.posToSectionCoord(cameraPos.x);
+        int centerZ = SectionPos.posToSectionCoord(cameraPos.z);
+        int minX = centerX - renderDistance;
+        int maxX = centerX + renderDistance;
+        int minY = client.level.getMinSectionY();
+        int maxY = client.level.getMaxSectionY();
+        int minZ = centerZ - renderDistance;
+        int maxZ = centerZ + renderDistance;
+
+        // If both states are regions, only sections touching either region can change
+        if (oldMask != null && newMask != null) {
+            minX = Math.max(minX, SectionPos.blockToSectionCoord(Math.min(oldMask.minX, newMask.minX) - 1));
+            minY = Math.max(minY, SectionPos.blockToSectionCoord(Math.min(oldMask.minY, newMask.minY) - 1));
+            minZ = Math.max(minZ, SectionPos.blockToSectionCoord(Math.min(oldMask.minZ, newMask.minZ) - 1));
+            maxX = Math.min(maxX, SectionPos.blockToSectionCoord(Math.max(oldMask.maxX, newMask.maxX) + 1));
+            maxY = Math.min(maxY, SectionPos.blockToSectionCoord(Math.max(oldMask.maxY, newMask.maxY) + 1));
+            maxZ = Math.min(maxZ, SectionPos.blockToSectionCoord(Math.max(oldMask.maxZ, newMask.maxZ) + 1));
+        }
+
+        int dirtySections = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    // Meshes read one block past section bounds for face culling
+                    int blockX = SectionPos.sectionToBlockCoord(x);
+                    int blockY = SectionPos.sectionToBlockCoord(y);
+                    int blockZ = SectionPos.sectionToBlockCoord(z);
+                    boolean unchanged = !rendererReloaded && RegionMask.coversSameBlocks(oldMask, newMask,
+                            blockX - 1, blockY - 1, blockZ - 1,
+                            blockX + 16, blockY + 16, blockZ + 16);
+                    if (unchanged) {
+                        continue;
+                    }
+
+                    client.levelRenderer.setSectionDirty(x, y, z);
+                    dirtySections++;
+
+                    // Track rebuilt sections region needs, empty sections are never compiled so skip them
+                    if (newMask != null && newMask.intersectsSection(x, y, z) && hasBlocks(client, x, y, z)) {
+                        SectionReadinessManager.expectSection(x, y, z);
+                    }
+                }
+            }
+        }
+
+        LOGGER.info("Marked {} render sections dirty for region change", dirtySections);
+    }
+
+    private static boolean hasBlocks(Minecraft client, int x, int y, int z) {
+        // Unloaded chunks cannot be built until they arrive
+        LevelChunk chunk = client.level.getChunkSource().getChunk(x, z, false);
+        if (chunk == null) {
+            return false;
+        }
+        int sectionIndex = client.level.getSectionIndexFromSectionY(y);
+        return !chunk.getSection(sectionIndex).hasOnlyAir();
+    }
+}
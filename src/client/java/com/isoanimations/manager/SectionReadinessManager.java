@@ -0,0 +1,123 @@
+package com.isoanimations.manager;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.SectionPos;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class SectionReadinessManager {
+    // Sections still not scheduled after renderer went this long without scheduling or uploading anything
+    // are outside what it will build (e.g. out of view), building sections are always waited for
+    private static final long UNSCHEDULED_TIMEOUT_MS = 2000;
+
+    private static final Object lock = new Object();
+    private static final LongOpenHashSet unscheduledSections = new LongOpenHashSet(); // Dirty, no build task yet
+    private static final LongOpenHashSet buildingSections = new LongOpenHashSet(); // Build task created, mesh not uploaded
+    private static int expectedSections = 0;
+    private static int excludedSections = 0;
+    private static long lastProgressTime = 0;
+
+    public static void beginTracking() {
+        synchronized (lock) {
+            unscheduledSections.clear();
+            buildingSections.clear();
+            expectedSections = 0;
+            excludedSections = 0;
+            lastProgressTime = System.currentTimeMillis();
+        }
+    }
+
+    public static void expectSection(int x, int y, int z) {
+        synchronized (lock) {
+            long pos = SectionPos.asLong(x, y, z);
+            if (!buildingSections.contains(pos) && unscheduledSections.add(pos)) {
+                expectedSections++;
+            }
+        }
+    }
+
+    public static void sectionScheduled(int x, int y, int z) {
+        synchronized (lock) {
+            long pos = SectionPos.asLong(x, y, z);
+            if (unscheduledSections.remove(pos)) {
+                buildingSections.add(pos);
+                lastProgressTime = System.currentTimeMillis();
+            }
+        }
+    }
+
+    public static void sectionDiscarded(int x, int y, int z) {
+        // Build was thrown away, section waits to be scheduled again
+        synchronized (lock) {
+            long pos = SectionPos.asLong(x, y, z);
+            if (buildingSections.remove(pos)) {
+                unscheduledSections.add(pos);
+                lastProgressTime = System.currentTimeMillis();
+            }
+        }
+    }
+
+    public static void sectionUploaded(int x, int y, int z) {
+        // Called on client thread once new mesh replaces old one
+        synchronized (lock) {
+            long pos = SectionPos.asLong(x, y, z);
+            if (buildingSections.remove(pos) | unscheduledSections.remove(pos)) {
+                lastProgressTime = System.currentTimeMillis();
+            }
+        }
+    }
+
+    public static boolean isReady() {
+        ClientLevel level = Minecraft.getInstance().level;
+        synchronized (lock) {
+            // Sections of unloaded chunks cannot build until chunk comes back
+            int unloaded = removeUnloaded(level, unscheduledSections) + removeUnloaded(level, buildingSections);
+            if (unloaded > 0) {
+                LOGGER.warn("Excluding {} region sections whose chunks are not loaded", unloaded);
+                excludedSections += unloaded;
+            }
+
+            // Renderer stopped picking up sections, so remaining unscheduled ones will never build
+            if (!unscheduledSections.isEmpty() && System.currentTimeMillis() - lastProgressTime >= UNSCHEDULED_TIMEOUT_MS) {
+                LOGGER.warn("Excluding {} region sections that were never scheduled for building", unscheduledSections.size());
+                excludedSections += unscheduledSections.size();
+                unscheduledSections.clear();
+            }
+
+            return unscheduledSections.isEmpty() && buildingSections.isEmpty();
+        }
+    }
+
+    private static int removeUnloaded(ClientLevel level, LongOpenHashSet sections) {
+        if (level == null) {
+            int removed = sections.size();
+            sections.clear();
+            return removed;
+        }
+
+        int removed = 0;
+        for (LongIterator it = sections.iterator(); it.hasNext(); ) {
+            long pos = it.nextLong();
+            if (!level.hasChunk(SectionPos.x(pos), SectionPos.z(pos))) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public static int getBuiltSections() {
+        synchronized (lock) {
+            return expectedSections - excludedSections - unscheduledSections.size() - buildingSections.size();
+        }
+    }
+
+    public static int getExpectedSections() {
+        synchronized (lock) {
+            return expectedSections - excludedSections;
+        }
+    }
+}
@@ -3,19 +3,27 @@ package com.isoanimations.manager;
 import com.isoanimations.config.PathConfig;
 import com.isoanimations.config.RenderConfig;
 import com.isoanimations.util.BufferPool;
+import com.isoanimations.util.EncoderProfile;
 import com.isoanimations.util.ExportFrame;
+import com.isoanimations.util.FrameEncoder;
+import com.isoanimations.util.FrameSpool;
+import com.isoanimations.util.FrameStageEvent;
+import com.isoanimations.util.ImageSequenceWriter;
+import com.isoanimations.util.PipelineStats;
+import com.isoanimations.util.SegmentWorker;
+import com.isoanimations.util.VideoTranscoder;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.HoverEvent;
-import org.bytedeco.ffmpeg.global.avcodec;
-import org.bytedeco.ffmpeg.global.avutil;
-import org.bytedeco.javacv.FFmpegFrameFilter;
+import org.bytedeco.ffmpeg.avcodec.AVPacket;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.FFmpegFrameRecorder;
-import org.bytedeco.javacv.Frame;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Calendar;
 import java.util.concurrent.BlockingQueue;
@@ -26,20 +34,44 @@ import java.util.concurrent.TimeUnit;
 import static com.isoanimations.IsometricAnimations.LOGGER;
 
 public class VideoStreamManager {
+    // Frames each segment worker may hold in memory, beyond that worker blocks dispatch or spills to disk
+    private static final int MIN_WORKER_QUEUED_FRAMES = 2;
+
     // Recording objects
-    private static FFmpegFrameRecorder recorder;
-    private static FFmpegFrameFilter filter;
-    private static Frame cvFrame;
+    private static FrameEncoder encoder;
+    private static EncoderProfile encoderProfile;
+    private static Path captureFilePath;
     private static Path outputFilePath;
-    private static long frameCount = 0;
 
-    // Memory pointer to prevent leaks
-    private static ByteBuffer nativeFrameBuffer;
+    // Two phase export objects, capture goes to intermediate file that is transcoded afterwards
+    private static EncoderProfile transcodeProfile;
+    private static Path intermediateFilePath;
+    private static volatile boolean isTranscoding = false;
+
+    // Segmented encoding objects
+    private static SegmentWorker[] segmentWorkers;
+    private static Path segmentDir;
+    private static int segmentFrames;
+    private static int segmentCount = 0;
+
+    // Image sequence objects, used instead of encoder when exporting frames as images
+    private static ImageSequenceWriter imageWriter;
+
+    // Frame layout of current recording session
+    private static int frameWidth;
+    private static int frameHeight;
+    private static double frameRate;
 
     // Threading controls
     private static Thread encodingThread;
     private static volatile boolean isRecording = false;
-    private static final BlockingQueue<ExportFrame> frameQueue = new LinkedBlockingQueue<>(10);
+    private static final BlockingQueue<ExportFrame> frameQueue = new LinkedBlockingQueue<>(); // Bounded by buffer pool
+
+    // Overflow spool used when encoder falls behind capture, replaced per recording so read once per call
+    private static volatile FrameSpool spool;
+
+    // Held while frames are handed to queue or spool, so encoder never sees both empty while a frame is being added
+    private static final Object submitLock = new Object();
 
     public static void startRecording(int width, int height) {
         if (!PathConfig.ANIMATION_EXPORT_DIR.toFile().exists()) {
@@ -48,7 +80,7 @@ public class VideoStreamManager {
 
         // Set output filepath
         Calendar now = Calendar.getInstance();
-        String filename = "animation_%04d_%02d_%d_%02d-%02d-%02d.mp4".formatted(
+        String filename = "animation_%04d_%02d_%d_%02d-%02d-%02d".formatted(
                 now.get(Calendar.YEAR),
                 now.get(Calendar.MONTH) + 1,
                 now.get(Calendar.DAY_OF_MONTH),
@@ -56,38 +88,44 @@ public class VideoStreamManager {
                 now.get(Calendar.MINUTE),
                 now.get(Calendar.SECOND)
         );
-        outputFilePath = PathConfig.ANIMATION_EXPORT_DIR.resolve(filename);
 
         try {
+            // Store frame layout for encoding threads
+            frameWidth = width;
+            frameHeight = height;
+            frameRate = RenderConfig.getOutputFps();
+
+            if (RenderConfig.exportMode == RenderConfig.ExportMode.IMAGES) {
+                // Each recording gets its own folder of numbered frames
+                outputFilePath = PathConfig.FRAME_EXPORT_DIR.resolve(filename);
+                Files.createDirectories(outputFilePath);
+                imageWriter = new ImageSequenceWriter(outputFilePath, width, height, RenderConfig.imageFormat);
+                transcodeProfile = null;
+                intermediateFilePath = null;
+            } else {
+                imageWriter = null;
+                setupVideoEncoding(filename, width, height);
+            }
 
-            // Setup recorder
-            recorder = new FFmpegFrameRecorder(outputFilePath.toString(), width, height);
-            recorder.setFormat("mp4");
-            recorder.setVideoCodec(avcodec.AV_CODEC_ID_H264);
-            recorder.setFrameRate(RenderConfig.getOutputFps());
-            recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
-            recorder.setVideoQuality(18); // CRF
-//            recorder.setDisplayRotation(180);
-//            recorder.setOption("movflags", "frag_keyframe+empty_moov");
-
-            // Start recorder
-            recorder.start();
-            frameCount = 0;
-
-            // Create filter for vertical flipping and RGB to BGR
-            filter = new FFmpegFrameFilter("vflip", width, height);
-            filter.start();
-
-            // Create reusable frame object
-            cvFrame = new Frame(width, height, Frame.DEPTH_UBYTE, 3); // 8 bit depth, BGR color
-            nativeFrameBuffer = (ByteBuffer) cvFrame.image[0];
+            // Setup disk spool for frames that don't fit in memory queue
+            if (RenderConfig.spillToDisk) {
+                spool = new FrameSpool(PathConfig.SPOOL_DIR.resolve(filename + ".raw"), width * height * 3);
+            }
 
             // Setup export queue
             isRecording = true;
             frameQueue.clear();
+            PipelineStats.reset();
+            PipelineStats.trackQueue(frameQueue);
 
             // Start encoding thread in background
-            encodingThread = new Thread(VideoStreamManager::encodingLoop);
+            if (imageWriter != null) {
+                encodingThread = new Thread(VideoStreamManager::imageSequenceLoop);
+            } else if (segmentWorkers != null) {
+                encodingThread = new Thread(VideoStreamManager::segmentedEncodingLoop);
+            } else {
+                encodingThread = new Thread(VideoStreamManager::encodingLoop);
+            }
             encodingThread.setName("JavaCV Encoding Thread");
             encodingThread.start();
         } catch (Exception e) {
@@ -95,58 +133,197 @@ public class VideoStreamManager {
         }
     }
 
-    public static void addFrameToQueue(ExportFrame frame) {
-        if (isRecording) {
-            try {
-                frameQueue.put(frame);
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted while adding frame to queue", e);
-                BufferPool.returnBuffer(frame.frameData);
-                Thread.currentThread().interrupt();
+    private static void setupVideoEncoding(String filename, int width, int height) throws Exception {
+        // Pick codec settings, calibrating first if auto profile selected for realtime encoding
+        EncoderProfile finalProfile = EncoderProfileManager.resolve(width, height, !RenderConfig.twoPhaseExport);
+        outputFilePath = PathConfig.ANIMATION_EXPORT_DIR.resolve(filename + "." + finalProfile.extension());
+        if (RenderConfig.twoPhaseExport) {
+            // Capture with cheap intra-only codec, final codec runs after recording stops
+            Files.createDirectories(PathConfig.INTERMEDIATE_DIR);
+            encoderProfile = EncoderProfileManager.resolveIntermediate();
+            transcodeProfile = finalProfile;
+            intermediateFilePath = PathConfig.INTERMEDIATE_DIR.resolve(filename + "." + encoderProfile.extension());
+            captureFilePath = intermediateFilePath;
+        } else {
+            encoderProfile = finalProfile;
+            transcodeProfile = null;
+            intermediateFilePath = null;
+            captureFilePath = outputFilePath;
+        }
+
+        if (RenderConfig.encoderWorkers > 1) {
+            // Setup segment workers, each writing its own keyframe-aligned segments
+            segmentDir = PathConfig.SEGMENT_DIR.resolve(filename);
+            Files.createDirectories(segmentDir);
+            segmentCount = 0;
+            segmentWorkers = new SegmentWorker[RenderConfig.encoderWorkers];
+
+            // Segments stay GOP sized, each one opens with a keyframe so short segments bloat output
+            segmentFrames = Math.max(1, (int) Math.round(RenderConfig.segmentSeconds * frameRate));
+
+            // Split pool between workers and capture, rest of a segment waits in worker spool so later workers start early
+            int queuedFramesPerWorker = Math.max(MIN_WORKER_QUEUED_FRAMES, BufferPool.getPoolSize() / (segmentWorkers.length + 1));
+            for (int i = 0; i < segmentWorkers.length; i++) {
+                try {
+                    segmentWorkers[i] = new SegmentWorker(i, segmentDir, width, height, frameRate, encoderProfile,
+                            queuedFramesPerWorker, RenderConfig.spillToDisk);
+                } catch (IOException e) {
+                    // Stop workers already started so their threads don't outlive failed recording
+                    for (int j = 0; j < i; j++) {
+                        segmentWorkers[j].finish();
+                    }
+                    segmentWorkers = null;
+                    throw e;
+                }
             }
         } else {
-            BufferPool.returnBuffer(frame.frameData);
+            // Setup single recorder writing directly to output
+            encoder = new FrameEncoder(captureFilePath, width, height, frameRate, encoderProfile);
         }
     }
 
-    private static void encodingLoop() {
-        // Setup arrays for vertical flip
-        int width = cvFrame.imageWidth;
-        int height = cvFrame.imageHeight;
-        int pixelStride = width * 3;
-        byte[] rowTop = new byte[pixelStride];
-        byte[] rowBottom = new byte[pixelStride];
+    public static void submitFrame(ByteBuffer pixels, long captureTime) {
+        if (!isRecording) {
+            return;
+        }
 
-        // Keep track of first frame timestamp
-        long firstFrameTime = -1;
+        // Without spool block until a buffer frees up, never while holding submit lock so encoder can keep freeing buffers
+        FrameStageEvent stageEvent = PipelineStats.begin();
+        FrameSpool currentSpool = spool;
+        if (currentSpool == null) {
+            ByteBuffer frameData = BufferPool.getBufferBlocking();
+            if (frameData == null) {
+                return;
+            }
+            copyFrame(frameData, pixels);
+            synchronized (submitLock) {
+                // Recording stopped while waiting, encoder may already be gone
+                if (!isRecording) {
+                    BufferPool.returnBuffer(frameData);
+                    return;
+                }
+                frameQueue.add(new ExportFrame(frameData, captureTime));
+            }
+            PipelineStats.end(PipelineStats.Stage.QUEUE, stageEvent);
+            return;
+        }
 
-        // Encode frames until all frames gone from recording session
-        while (isRecording || !frameQueue.isEmpty()) {
+        synchronized (submitLock) {
+            // Spool is closed once recording stops, so never touch it afterwards
+            if (!isRecording || spool != currentSpool) {
+                return;
+            }
+
+            // Keep frame order by spilling to disk while older frames are still spooled
+            if (!currentSpool.hasPending()) {
+                ByteBuffer frameData = BufferPool.getBuffer();
+                if (frameData != null) {
+                    copyFrame(frameData, pixels);
+                    frameQueue.add(new ExportFrame(frameData, captureTime));
+                    PipelineStats.end(PipelineStats.Stage.QUEUE, stageEvent);
+                    return;
+                }
+            }
+
+            // Encoder is behind so write frame to disk instead of stalling render thread
             try {
-                // Wait up to 10ms to get next frame from queue
-                ExportFrame frame = frameQueue.poll(10, TimeUnit.MILLISECONDS);
-                if (frame != null) {
-                    // Save frame data to export frame
-                    ByteBuffer buffer = frame.frameData;
-                    buffer.rewind();
-                    nativeFrameBuffer.clear();
-                    nativeFrameBuffer.put(buffer);
-                    nativeFrameBuffer.rewind();
+                currentSpool.write(pixels, captureTime);
+                PipelineStats.end(PipelineStats.Stage.SPILL, stageEvent);
+            } catch (IOException e) {
+                LOGGER.error("Failed to spool frame to disk, dropping frame", e);
+            }
+        }
+    }
 
-                    filter.push(cvFrame);
-                    Frame flippedFrame = filter.pull();
+    public static void submitRepeat(long captureTime) {
+        synchronized (submitLock) {
+            if (!isRecording) {
+                return;
+            }
 
+            // Keep frame order by spooling marker while older frames are still spooled
+            FrameSpool currentSpool = spool;
+            if (currentSpool != null && currentSpool.hasPending()) {
+                currentSpool.writeRepeat(captureTime);
+                return;
+            }
+            frameQueue.add(ExportFrame.repeat(captureTime));
+        }
+    }
+
+    private static void copyFrame(ByteBuffer frameData, ByteBuffer pixels) {
+        // Copy pixels into pooled buffer
+        frameData.clear();
+        frameData.put(pixels.duplicate().limit(frameWidth * frameHeight * 3));
+        frameData.flip();
+    }
+
+    private static ExportFrame pollFrame() throws InterruptedException, IOException {
+        // Wait up to 10ms to get next frame from queue
+        ExportFrame frame = frameQueue.poll(10, TimeUnit.MILLISECONDS);
+        FrameSpool currentSpool = spool;
+        if (frame != null || currentSpool == null || !currentSpool.hasPending()) {
+            return frame;
+        }
+
+        // Memory queue drained, so next frames in order are on disk
+        if (currentSpool.isNextRepeat()) {
+            return ExportFrame.repeat(currentSpool.readRepeat());
+        }
+        ByteBuffer frameData = BufferPool.getBufferBlocking();
+        if (frameData == null) {
+            return null;
+        }
+        try {
+            long captureTime = currentSpool.read(frameData);
+            return new ExportFrame(frameData, captureTime);
+        } catch (IOException e) {
+            BufferPool.returnBuffer(frameData);
+            throw e;
+        }
+    }
 
-                    // Calculate frame timestamp
-                    long timestamp = Math.round((frameCount * 1000000) / RenderConfig.getOutputFps());
-                    recorder.setTimestamp(timestamp);
+    public static int getSpooledFrames() {
+        FrameSpool currentSpool = spool;
+        return currentSpool == null ? 0 : currentSpool.getPendingFrames();
+    }
 
-                    // Record filtered frame
-                    recorder.record(flippedFrame);
-                    frameCount++;
+    private static boolean hasPendingFrames() {
+        // Checked under submit lock so a frame being added is always seen
+        synchronized (submitLock) {
+            FrameSpool currentSpool = spool;
+            return isRecording || !frameQueue.isEmpty() || (currentSpool != null && currentSpool.hasPending());
+        }
+    }
 
-                    // Return buffer to pool after encoding
-                    BufferPool.returnBuffer(buffer);
+    private static void closeSpool() {
+        // Recording has stopped, so submit path no longer writes to spool once lock is released
+        synchronized (submitLock) {
+            FrameSpool currentSpool = spool;
+            spool = null;
+            try {
+                if (currentSpool != null) {
+                    currentSpool.close();
+                }
+            } catch (IOException e) {
+                LOGGER.error("Failed to delete frame spool", e);
+            }
+        }
+    }
+
+    private static void encodingLoop() {
+        // Encode frames until all frames gone from recording session
+        while (hasPendingFrames()) {
+            try {
+                ExportFrame frame = pollFrame();
+                if (frame != null) {
+                    ByteBuffer released = frame.frameData;
+                    try {
+                        released = encoder.encode(frame);
+                    } finally {
+                        // Return buffer to pool once encoder is done with it
+                        BufferPool.returnBuffer(released);
+                    }
                 }
             } catch (Exception e) {
                 LOGGER.error("Failed to encode frame", e);
@@ -154,23 +331,162 @@ public class VideoStreamManager {
         }
 
         // Cleanup once all encoding finished
+        closeSpool();
         try {
-            if (recorder != null) {
-                recorder.stop();
-                recorder.release();
-                recorder = null;
-            }
-            if (cvFrame != null) {
-                cvFrame.close();
-                cvFrame = null;
+            if (encoder != null) {
+                BufferPool.returnBuffer(encoder.finish());
+                encoder = null;
             }
         } catch (Exception e) {
             LOGGER.error("Failed to stop recorder", e);
+        } finally {
+            BufferPool.reclaim();
+        }
+    }
+
+    private static void imageSequenceLoop() {
+        // Hand frames to image pool until all frames gone from recording session
+        while (hasPendingFrames()) {
+            try {
+                ExportFrame frame = pollFrame();
+                if (frame != null) {
+                    imageWriter.submit(frame);
+                }
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted while dispatching frames", e);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Failed to read spooled frame", e);
+            }
+        }
+
+        // Wait for pool to write remaining frames, buffers are only reclaimed once no worker can still be writing
+        closeSpool();
+        imageWriter.finish();
+        imageWriter = null;
+        BufferPool.reclaim();
+    }
+
+    private static void segmentedEncodingLoop() {
+        int segmentIndex = 0;
+        long segmentFrameCount = 0;
+
+        // Hand frames to workers until all frames gone from recording session
+        while (hasPendingFrames()) {
+            try {
+                ExportFrame frame = pollFrame();
+                if (frame != null) {
+                    // Only cut on a real frame so every segment starts with pixels to repeat
+                    if (segmentFrameCount >= segmentFrames && !frame.isRepeat()) {
+                        segmentIndex++;
+                        segmentFrameCount = 0;
+                    }
+
+                    // Segments are handed out round-robin so workers encode them in parallel
+                    segmentWorkers[segmentIndex % segmentWorkers.length].submit(segmentIndex, frame);
+                    segmentCount = segmentIndex + 1;
+                    segmentFrameCount++;
+                }
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted while dispatching frames", e);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Failed to read spooled frame", e);
+            }
+        }
+
+        // Wait for every worker to finish its segments then join them into final video
+        closeSpool();
+        try {
+            finishSegmentWorkers();
+            concatSegments();
+        } catch (Exception e) {
+            LOGGER.error("Failed to join video segments", e);
+        } finally {
+            segmentWorkers = null;
+            BufferPool.reclaim();
         }
     }
 
+    private static void finishSegmentWorkers() {
+        // Join every worker even if interrupted, buffers are only reclaimed once no worker can still be encoding
+        boolean interrupted = false;
+        for (SegmentWorker worker : segmentWorkers) {
+            while (true) {
+                try {
+                    worker.finish();
+                    break;
+                } catch (InterruptedException e) {
+                    LOGGER.error("Interrupted while waiting for segment worker, still waiting", e);
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void concatSegments() throws Exception {
+        if (segmentCount == 0) {
+            return;
+        }
+
+        // Write segment list for FFmpeg concat demuxer, leaving out segments whose encoder failed
+        StringBuilder segmentList = new StringBuilder();
+        int droppedSegments = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            Path segmentFile = SegmentWorker.getSegmentPath(segmentDir, i, encoderProfile);
+            if (segmentWorkers[i % segmentWorkers.length].isSegmentFailed(i) || !Files.exists(segmentFile)) {
+                droppedSegments++;
+                continue;
+            }
+            String segmentPath = segmentFile.toAbsolutePath().toString().replace('\\', '/');
+            segmentList.append("file '").append(segmentPath).append("'\n");
+        }
+        if (droppedSegments == segmentCount) {
+            throw new IOException("No video segments were encoded");
+        }
+        if (droppedSegments > 0) {
+            LOGGER.warn("Joining video without {} of {} segments that failed to encode", droppedSegments, segmentCount);
+        }
+        Path listFile = segmentDir.resolve("segments.txt");
+        Files.writeString(listFile, segmentList);
+
+        // Stream copy every segment into output without re-encoding
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(listFile.toString())) {
+            grabber.setFormat("concat");
+            grabber.setOption("safe", "0");
+            grabber.start();
+
+            try (FFmpegFrameRecorder output = new FFmpegFrameRecorder(captureFilePath.toString(), grabber.getImageWidth(), grabber.getImageHeight(), 0)) {
+                output.setFormat(encoderProfile.format());
+                output.setVideoCodec(grabber.getVideoCodec());
+                output.setFrameRate(grabber.getFrameRate());
+                output.start(grabber.getFormatContext());
+
+                AVPacket packet;
+                while ((packet = grabber.grabPacket()) != null) {
+                    output.recordPacket(packet);
+                }
+                output.stop();
+            }
+            grabber.stop();
+        }
+
+        // Delete segments once joined
+        for (int i = 0; i < segmentCount; i++) {
+            Files.deleteIfExists(SegmentWorker.getSegmentPath(segmentDir, i, encoderProfile));
+        }
+        Files.deleteIfExists(listFile);
+        Files.deleteIfExists(segmentDir);
+    }
+
     public static void stopRecording(FabricClientCommandSource source) {
-        // Let encoding thread to stop
+        // Let encoding thread to stop, transcode counts as exporting until it finishes
+        isTranscoding = intermediateFilePath != null;
         isRecording = false;
 
         // Notify user that near end of exporting
@@ -179,9 +495,11 @@ public class VideoStreamManager {
         // Wait for encoding thread to stop in background
         CompletableFuture.runAsync(() -> {
             try {
-                // Wait for encoding thread to die
-                if (encodingThread != null) {
-                    encodingThread.join();
+                awaitEncoding();
+
+                // Convert intermediate capture to final codec using all cores
+                if (intermediateFilePath != null) {
+                    transcodeIntermediate(source);
                 }
 
                 // Notify user of completion with clickable message
@@ -195,8 +513,46 @@ public class VideoStreamManager {
         });
     }
 
+    public static void finishRecording() throws InterruptedException {
+        // Stop without chat feedback or transcode, used where no command source exists
+        isRecording = false;
+        awaitEncoding();
+    }
+
+    private static void awaitEncoding() throws InterruptedException {
+        // Wait for encoding thread to die
+        if (encodingThread != null) {
+            encodingThread.join();
+        }
+        PipelineStats.stop();
+    }
+
+    private static void transcodeIntermediate(FabricClientCommandSource source) {
+        source.getClient().execute(() -> source.sendFeedback(
+                Component.literal("Transcoding to %s...".formatted(transcodeProfile.name())).withStyle(ChatFormatting.YELLOW)
+        ));
+
+        try {
+            VideoTranscoder.transcode(intermediateFilePath, outputFilePath, transcodeProfile, percent ->
+                    source.getClient().execute(() -> source.sendFeedback(
+                            Component.literal("Transcoding: %d%%".formatted(percent)).withStyle(ChatFormatting.YELLOW)
+                    ))
+            );
+            Files.deleteIfExists(intermediateFilePath);
+        } catch (Exception e) {
+            // Keep intermediate file so capture is not lost
+            LOGGER.error("Failed to transcode intermediate video", e);
+            outputFilePath = intermediateFilePath;
+            source.getClient().execute(() -> source.sendError(
+                    Component.literal("Transcode failed, keeping intermediate video instead.")
+            ));
+        } finally {
+            isTranscoding = false;
+        }
+    }
+
     public static boolean isExporting() {
-        return isRecording || (encodingThread != null && encodingThread.isAlive());
+        return isRecording || isTranscoding || (encodingThread != null && encodingThread.isAlive());
     }
 
     private static void sendOpenVideoMessage(FabricClientCommandSource source) {
@@ -220,7 +576,7 @@ public class VideoStreamManager {
 
     private static void sendOpenFolderMessage(FabricClientCommandSource source) {
         // Create clickable link to folder
-        String folderPath = PathConfig.ANIMATION_EXPORT_DIR.toFile().getAbsolutePath();
+        String folderPath = outputFilePath.getParent().toFile().getAbsolutePath();
         Component link = Component.literal("Animations Folder")
                 .withStyle(style -> style
                         .withColor(ChatFormatting.AQUA)
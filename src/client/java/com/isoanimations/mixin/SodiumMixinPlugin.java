@@ -17,13 +17,13 @@ public class SodiumMixinPlugin implements IMixinConfigPlugin {
     public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
         LOGGER.info("Using Sodium render mixin: {}", SODIUM_LOADED);
 
-        // Vanilla Chunk Mixin: skip if Sodium installed
-        if (mixinClassName.endsWith("RenderSectionRegionMixin")) {
+        // Vanilla Chunk Mixins: skip if Sodium installed
+        if (mixinClassName.contains(".vanilla.")) {
             return !SODIUM_LOADED;
         }
 
-        // Sodium Chunk Mixin: skip if Sodium not installed
-        if (mixinClassName.endsWith("LevelSliceMixin")) {
+        // Sodium Chunk Mixins: skip if Sodium not installed
+        if (mixinClassName.contains(".sodium.")) {
             return SODIUM_LOADED;
         }
 
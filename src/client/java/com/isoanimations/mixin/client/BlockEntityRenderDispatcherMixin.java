@@ -1,11 +1,12 @@
 package com.isoanimations.mixin.client;
 
 import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.util.RegionMask;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderDispatcher;
 import net.minecraft.client.renderer.blockentity.state.BlockEntityRenderState;
 import net.minecraft.client.renderer.feature.ModelFeatureRenderer.CrumblingOverlay;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.phys.AABB;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -16,10 +17,11 @@ public class BlockEntityRenderDispatcherMixin {
     @Inject(method = "tryExtractRenderState", at = @At("HEAD"), cancellable = true)
     private <E extends BlockEntity> void tryExtractRenderState(E blockEntity, float partialTicks, CrumblingOverlay breakProgress, CallbackInfoReturnable<BlockEntityRenderState> cir) {
         // Filter block entities if animation region active
-        AABB activeRegion = AnimationManager.getActiveRegion();
-        if (activeRegion != null) {
+        RegionMask regionMask = AnimationManager.getRegionMask();
+        if (regionMask != null) {
             // Return NULL if block entity outside active region
-            boolean insideRegion = activeRegion.contains(blockEntity.getBlockPos().getCenter());
+            BlockPos pos = blockEntity.getBlockPos();
+            boolean insideRegion = regionMask.contains(pos.getX(), pos.getY(), pos.getZ());
             if (!insideRegion) {
                 cir.setReturnValue(null);
             }
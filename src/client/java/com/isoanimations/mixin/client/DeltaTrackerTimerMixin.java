@@ -0,0 +1,27 @@
+package com.isoanimations.mixin.client;
+
+import com.isoanimations.manager.OfflineRenderManager;
+import net.minecraft.client.DeltaTracker;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(DeltaTracker.Timer.class)
+public class DeltaTrackerTimerMixin {
+    @Inject(method = "advanceTime", at = @At("HEAD"), cancellable = true)
+    private void advanceTime(long time, boolean advanceGameTime, CallbackInfoReturnable<Integer> cir) {
+        // Drive game time from frame count instead of wall clock during offline render
+        if (OfflineRenderManager.isActive()) {
+            cir.setReturnValue(OfflineRenderManager.advanceTime());
+        }
+    }
+
+    @Inject(method = "getGameTimeDeltaPartialTick", at = @At("HEAD"), cancellable = true)
+    private void getGameTimeDeltaPartialTick(boolean runsNormally, CallbackInfoReturnable<Float> cir) {
+        // Render every frame at its exact partial tick during offline render
+        if (OfflineRenderManager.isActive()) {
+            cir.setReturnValue(OfflineRenderManager.getPartialTick());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.isoanimations.mixin.client;
+
+import com.isoanimations.config.RenderConfig;
+import com.isoanimations.manager.CameraManager;
+import com.isoanimations.manager.RenderManager;
+import com.isoanimations.manager.RenderTargetManager;
+import com.mojang.blaze3d.platform.Window;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GameRenderer;
+import org.joml.Matrix4f;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(GameRenderer.class)
+public abstract class GameRendererMixin {
+    @Shadow
+    public abstract float getDepthFar();
+
+    @Inject(method = "getProjectionMatrix", at = @At("HEAD"), cancellable = true)
+    private void getProjectionMatrix(float fov, CallbackInfoReturnable<Matrix4f> cir) {
+        // Offscreen target can have different aspect ratio than window
+        Window window = Minecraft.getInstance().getWindow();
+        float aspectRatio = RenderTargetManager.isActive()
+                ? RenderTargetManager.getAspectRatio()
+                : (float) window.getWidth() / window.getHeight();
+
+        // Use orthographic projection while render camera is positioned
+        if (CameraManager.isDetached() && RenderConfig.projection == RenderConfig.Projection.ORTHOGRAPHIC) {
+            cir.setReturnValue(RenderManager.getOrthographicProjection(aspectRatio));
+        } else if (RenderTargetManager.isActive()) {
+            cir.setReturnValue(new Matrix4f().perspective((float) Math.toRadians(fov), aspectRatio, 0.05f, getDepthFar()));
+        }
+    }
+}
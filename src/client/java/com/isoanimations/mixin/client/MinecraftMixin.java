@@ -0,0 +1,19 @@
+package com.isoanimations.mixin.client;
+
+import com.isoanimations.manager.RenderTargetManager;
+import net.minecraft.client.Minecraft;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Minecraft.class)
+public class MinecraftMixin {
+    @Inject(method = "resizeDisplay", at = @At("TAIL"))
+    private void resizeDisplay(CallbackInfo ci) {
+        // Keep offscreen output size when window is resized or minimized mid-render
+        if (RenderTargetManager.isActive()) {
+            RenderTargetManager.applySize();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.isoanimations.mixin.client;
+
+import com.isoanimations.manager.RenderDistanceManager;
+import net.minecraft.client.Options;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(Options.class)
+public class OptionsMixin {
+    @Inject(method = "getEffectiveRenderDistance", at = @At("RETURN"), cancellable = true)
+    private void getEffectiveRenderDistance(CallbackInfoReturnable<Integer> cir) {
+        // Clamp only in memory while region is active, so saved render distance stays untouched
+        int clampedDistance = RenderDistanceManager.getClampedRenderDistance();
+        if (clampedDistance > 0 && clampedDistance < cir.getReturnValue()) {
+            cir.setReturnValue(clampedDistance);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.isoanimations.mixin.client.sodium;
+
+import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.manager.SectionReadinessManager;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotHolder;
+import com.llamalad7.mixinextras.sugar.Local;
+import net.caffeinemc.mods.sodium.client.render.SodiumWorldRenderer;
+import net.caffeinemc.mods.sodium.client.render.chunk.RenderSection;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildOutput;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.tasks.ChunkBuilderMeshingTask;
+import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
+import net.minecraft.client.Minecraft;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ChunkBuilderMeshingTask.class)
+public class ChunkBuilderMeshingTaskMixin {
+    // Region this task was scheduled with, tasks are created on client thread
+    @Unique
+    private RegionSnapshot isoanimations$regionSnapshot;
+
+    @Inject(method = "<init>", at = @At("TAIL"))
+    private void init(CallbackInfo ci, @Local(argsOnly = true) RenderSection render, @Local(argsOnly = true) ChunkRenderContext context) {
+        // Same snapshot slice is filtered with, taken when context was prepared
+        isoanimations$regionSnapshot = ((RegionSnapshotHolder) context).isoanimations$getRegionSnapshot();
+
+        // Build task created, section is now waiting on builder
+        SectionReadinessManager.sectionScheduled(render.getChunkX(), render.getChunkY(), render.getChunkZ());
+    }
+
+    @Inject(method = "execute", at = @At("RETURN"), cancellable = true)
+    private void execute(CallbackInfoReturnable<ChunkBuildOutput> cir) {
+        // Cancelled tasks return null and are rebuilt later
+        ChunkBuildOutput output = cir.getReturnValue();
+        if (output == null) {
+            return;
+        }
+
+        // Region changed mid-build, discard output instead of uploading stale mesh
+        // Region change only dirties sections whose visible blocks changed, so rebuild this one with new region
+        RenderSection section = output.render;
+        if (isoanimations$regionSnapshot.version() != AnimationManager.getRegionSnapshot().version()) {
+            output.destroy();
+            cir.setReturnValue(null);
+            SectionReadinessManager.sectionDiscarded(section.getChunkX(), section.getChunkY(), section.getChunkZ());
+            Minecraft.getInstance().execute(() -> {
+                SodiumWorldRenderer renderer = SodiumWorldRenderer.instanceNullable();
+                if (renderer != null) {
+                    renderer.scheduleRebuildForChunk(section.getChunkX(), section.getChunkY(), section.getChunkZ(), false);
+                }
+            });
+        }
+    }
+}
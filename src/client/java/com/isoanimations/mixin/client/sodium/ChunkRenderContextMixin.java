@@ -0,0 +1,34 @@
+package com.isoanimations.mixin.client.sodium;
+
+import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotCarrier;
+import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ChunkRenderContext.class)
+public class ChunkRenderContextMixin implements RegionSnapshotCarrier {
+    // Region context was prepared with, set on client thread before build task is created
+    @Unique
+    private RegionSnapshot isoanimations$regionSnapshot;
+
+    @Inject(method = "<init>", at = @At("TAIL"))
+    private void init(CallbackInfo ci) {
+        // Contexts are created on client thread, prepare replaces this with snapshot it checked section against
+        isoanimations$regionSnapshot = AnimationManager.getRegionSnapshot();
+    }
+
+    @Override
+    public RegionSnapshot isoanimations$getRegionSnapshot() {
+        return isoanimations$regionSnapshot;
+    }
+
+    @Override
+    public void isoanimations$setRegionSnapshot(RegionSnapshot snapshot) {
+        isoanimations$regionSnapshot = snapshot;
+    }
+}
@@ -1,27 +1,82 @@
 package com.isoanimations.mixin.client.sodium;
 
 import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.util.RegionMask;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotCarrier;
+import com.isoanimations.util.RegionSnapshotHolder;
 import net.caffeinemc.mods.sodium.client.world.LevelSlice;
+import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
+import net.caffeinemc.mods.sodium.client.world.cloned.ClonedChunkSectionCache;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
-import net.minecraft.world.phys.AABB;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(LevelSlice.class)
 public class LevelSliceMixin {
+    // Snapshot read by prepare, handed to context it returns, slices are only prepared on client thread
+    @Unique
+    private static RegionSnapshot isoanimations$preparingSnapshot;
+
+    // Mask used for this build, null if no per-block filtering needed
+    @Unique
+    private RegionMask isoanimations$filterMask;
+
+    @Inject(method = "prepare", at = @At("HEAD"), cancellable = true)
+    private static void prepare(Level level, SectionPos pos, ClonedChunkSectionCache cache, CallbackInfoReturnable<ChunkRenderContext> cir) {
+        // Sodium treats a null context as an empty section and skips meshing it
+        RegionSnapshot snapshot = AnimationManager.getRegionSnapshot();
+        RegionMask regionMask = snapshot.mask();
+        if (regionMask != null && !regionMask.intersectsSection(pos.x(), pos.y(), pos.z())) {
+            cir.setReturnValue(null);
+            return;
+        }
+        isoanimations$preparingSnapshot = snapshot;
+    }
+
+    @Inject(method = "prepare", at = @At("RETURN"))
+    private static void prepared(Level level, SectionPos pos, ClonedChunkSectionCache cache, CallbackInfoReturnable<ChunkRenderContext> cir) {
+        // Context carries snapshot its section was checked against, build task and slice both use it
+        ChunkRenderContext context = cir.getReturnValue();
+        if (context != null && isoanimations$preparingSnapshot != null) {
+            ((RegionSnapshotCarrier) context).isoanimations$setRegionSnapshot(isoanimations$preparingSnapshot);
+        }
+        isoanimations$preparingSnapshot = null;
+    }
+
+    @Inject(method = "copyData", at = @At("TAIL"))
+    private void copyData(ChunkRenderContext context, CallbackInfo ci) {
+        // Slices fully inside region (including neighbours) skip per-block checks entirely
+        // Mask comes from build task's snapshot so a region change mid-build can't mix two regions
+        RegionMask regionMask = ((RegionSnapshotHolder) context).isoanimations$getRegionSnapshot().mask();
+        SectionPos origin = context.getOrigin();
+        if (regionMask != null && !regionMask.containsSections(
+                origin.x() - 1, origin.y() - 1, origin.z() - 1,
+                origin.x() + 1, origin.y() + 1, origin.z() + 1)) {
+            isoanimations$filterMask = regionMask;
+        } else {
+            isoanimations$filterMask = null;
+        }
+    }
+
     @Inject(method = "getBlockState(III)Lnet/minecraft/world/level/block/state/BlockState;", at = @At("HEAD"), cancellable = true)
     private void getBlockState(int blockX, int blockY, int blockZ, CallbackInfoReturnable<BlockState> cir) {
-        // Filter blocks if animation region active
-        if (AnimationManager.hasActiveRegion) {
+        // Filter blocks only for slices on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return AIR block if outside active region
-            if (!AnimationManager.inActiveRegion(blockX, blockY, blockZ)) {
+            if (!regionMask.contains(blockX, blockY, blockZ)) {
                 cir.setReturnValue(Blocks.AIR.defaultBlockState());
             }
         }
@@ -29,10 +84,11 @@ public class LevelSliceMixin {
 
     @Inject(method = "getBlockEntity(III)Lnet/minecraft/world/level/block/entity/BlockEntity;", at = @At("HEAD"), cancellable = true)
     private void getBlockEntity(int blockX, int blockY, int blockZ, CallbackInfoReturnable<BlockEntity> cir) {
-        // Filter block entities if animation region active
-        if (AnimationManager.hasActiveRegion) {
+        // Filter block entities only for slices on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return null block entity if outside active region
-            if (!AnimationManager.inActiveRegion(blockX, blockY, blockZ)) {
+            if (!regionMask.contains(blockX, blockY, blockZ)) {
                 cir.setReturnValue(null);
             }
         }
@@ -40,12 +96,13 @@ public class LevelSliceMixin {
 
     @Inject(method = "getFluidState", at = @At("HEAD"), cancellable = true)
     private void getFluidState(BlockPos pos, CallbackInfoReturnable<FluidState> cir) {
-        // Filter fluids if animation region active
-        if (AnimationManager.hasActiveRegion) {
+        // Filter fluids only for slices on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return empty fluid state if outside active region
-            if (!AnimationManager.inActiveRegion(pos.getX(), pos.getY(), pos.getZ())) {
+            if (!regionMask.contains(pos.getX(), pos.getY(), pos.getZ())) {
                 cir.setReturnValue(Fluids.EMPTY.defaultFluidState());
             }
         }
     }
-}
\ No newline at end of file
+}
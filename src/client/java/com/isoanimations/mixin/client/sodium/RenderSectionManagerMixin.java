@@ -0,0 +1,28 @@
+package com.isoanimations.mixin.client.sodium;
+
+import com.isoanimations.manager.SectionReadinessManager;
+import com.llamalad7.mixinextras.sugar.Local;
+import net.caffeinemc.mods.sodium.client.render.chunk.RenderSection;
+import net.caffeinemc.mods.sodium.client.render.chunk.RenderSectionManager;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.BuilderTaskOutput;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildOutput;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.ArrayList;
+
+@Mixin(RenderSectionManager.class)
+public class RenderSectionManagerMixin {
+    @Inject(method = "processChunkBuildResults", at = @At("RETURN"))
+    private void processChunkBuildResults(CallbackInfo ci, @Local(argsOnly = true) ArrayList<BuilderTaskOutput> results) {
+        // Meshes are uploaded on client thread by now, so sections render with region
+        for (BuilderTaskOutput result : results) {
+            if (result instanceof ChunkBuildOutput) {
+                RenderSection section = result.render;
+                SectionReadinessManager.sectionUploaded(section.getChunkX(), section.getChunkY(), section.getChunkZ());
+            }
+        }
+    }
+}
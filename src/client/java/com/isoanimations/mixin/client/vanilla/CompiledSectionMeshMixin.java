@@ -0,0 +1,29 @@
+package com.isoanimations.mixin.client.vanilla;
+
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotHolder;
+import com.llamalad7.mixinextras.sugar.Local;
+import net.minecraft.client.renderer.chunk.CompiledSectionMesh;
+import net.minecraft.client.renderer.chunk.SectionCompiler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(CompiledSectionMesh.class)
+public class CompiledSectionMeshMixin implements RegionSnapshotHolder {
+    // Region mesh was compiled with, checked before mesh is swapped in
+    @Unique
+    private RegionSnapshot isoanimations$regionSnapshot;
+
+    @Inject(method = "<init>", at = @At("TAIL"))
+    private void init(CallbackInfo ci, @Local(argsOnly = true) SectionCompiler.Results results) {
+        isoanimations$regionSnapshot = ((RegionSnapshotHolder) results).isoanimations$getRegionSnapshot();
+    }
+
+    @Override
+    public RegionSnapshot isoanimations$getRegionSnapshot() {
+        return isoanimations$regionSnapshot;
+    }
+}
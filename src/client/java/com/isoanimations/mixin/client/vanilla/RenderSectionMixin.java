@@ -0,0 +1,55 @@
+package com.isoanimations.mixin.client.vanilla;
+
+import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.manager.SectionReadinessManager;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotHolder;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.chunk.SectionMesh;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(SectionRenderDispatcher.RenderSection.class)
+public abstract class RenderSectionMixin {
+    @Shadow
+    public abstract BlockPos getRenderOrigin();
+
+    @Inject(method = "createCompileTask", at = @At("HEAD"))
+    private void createCompileTask(CallbackInfoReturnable<SectionRenderDispatcher.RenderSection.CompileTask> cir) {
+        // Build task created on client thread, section is now waiting on builder
+        BlockPos origin = getRenderOrigin();
+        SectionReadinessManager.sectionScheduled(
+                SectionPos.blockToSectionCoord(origin.getX()),
+                SectionPos.blockToSectionCoord(origin.getY()),
+                SectionPos.blockToSectionCoord(origin.getZ()));
+    }
+
+    @Inject(method = "setSectionMesh", at = @At("HEAD"), cancellable = true)
+    private void setSectionMesh(SectionMesh sectionMesh, CallbackInfo ci) {
+        BlockPos origin = getRenderOrigin();
+        int x = SectionPos.blockToSectionCoord(origin.getX());
+        int y = SectionPos.blockToSectionCoord(origin.getY());
+        int z = SectionPos.blockToSectionCoord(origin.getZ());
+
+        // Region changed mid-build, drop stale mesh instead of swapping it in and keep old one until rebuild
+        // Region change only dirties sections whose visible blocks changed, so rebuild this one with new region
+        RegionSnapshot snapshot = sectionMesh instanceof RegionSnapshotHolder holder ? holder.isoanimations$getRegionSnapshot() : null;
+        if (snapshot != null && snapshot.version() != AnimationManager.getRegionSnapshot().version()) {
+            sectionMesh.close();
+            ci.cancel();
+            SectionReadinessManager.sectionDiscarded(x, y, z);
+            Minecraft.getInstance().levelRenderer.setSectionDirty(x, y, z);
+            return;
+        }
+
+        // Uploaded mesh swapped in on client thread, section now renders with region
+        SectionReadinessManager.sectionUploaded(x, y, z);
+    }
+}
@@ -1,6 +1,9 @@
 package com.isoanimations.mixin.client.vanilla;
 
 import com.isoanimations.manager.AnimationManager;
+import com.isoanimations.util.RegionMask;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotHolder;
 import net.minecraft.client.renderer.chunk.RenderSectionRegion;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.Blocks;
@@ -8,21 +11,65 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
-import net.minecraft.world.phys.AABB;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(RenderSectionRegion.class)
-public class RenderSectionRegionMixin {
+public class RenderSectionRegionMixin implements RegionSnapshotHolder {
+    // Region copies a 3x3x3 section neighbourhood
+    @Unique
+    private static final int NEIGHBOURHOOD_SECTIONS = 3;
+
+    @Shadow
+    @Final
+    private int minSectionX;
+    @Shadow
+    @Final
+    private int minSectionY;
+    @Shadow
+    @Final
+    private int minSectionZ;
+
+    // Region this build started with, regions are created on client thread
+    @Unique
+    private RegionSnapshot isoanimations$regionSnapshot;
+
+    // Mask used for this build, null if no per-block filtering needed
+    @Unique
+    private RegionMask isoanimations$filterMask;
+
+    @Inject(method = "<init>", at = @At("TAIL"))
+    private void init(CallbackInfo ci) {
+        // Neighbourhoods fully inside region skip per-block checks entirely
+        isoanimations$regionSnapshot = AnimationManager.getRegionSnapshot();
+        RegionMask regionMask = isoanimations$regionSnapshot.mask();
+        if (regionMask != null && !regionMask.containsSections(
+                minSectionX, minSectionY, minSectionZ,
+                minSectionX + NEIGHBOURHOOD_SECTIONS - 1,
+                minSectionY + NEIGHBOURHOOD_SECTIONS - 1,
+                minSectionZ + NEIGHBOURHOOD_SECTIONS - 1)) {
+            isoanimations$filterMask = regionMask;
+        }
+    }
+
+    @Override
+    public RegionSnapshot isoanimations$getRegionSnapshot() {
+        return isoanimations$regionSnapshot;
+    }
+
     @Inject(method = "getBlockState", at = @At("HEAD"), cancellable = true)
     private void getBlockState(BlockPos pos, CallbackInfoReturnable<BlockState> cir) {
-        // Filter blocks if animation region active
-        AABB activeRegion = AnimationManager.getActiveRegion();
-        if (activeRegion != null) {
+        // Filter blocks only for sections on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return AIR block if outside active region
-            boolean insideRegion = activeRegion.contains(pos.getCenter());
+            boolean insideRegion = regionMask.contains(pos.getX(), pos.getY(), pos.getZ());
             if (!insideRegion) {
                 cir.setReturnValue(Blocks.AIR.defaultBlockState());
             }
@@ -31,11 +78,11 @@ public class RenderSectionRegionMixin {
 
     @Inject(method = "getBlockEntity", at = @At("HEAD"), cancellable = true)
     private void getBlockEntity(BlockPos pos, CallbackInfoReturnable<BlockEntity> cir) {
-        // Filter block entities if animation region active
-        AABB activeRegion = AnimationManager.getActiveRegion();
-        if (activeRegion != null) {
+        // Filter block entities only for sections on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return null block entity if outside active region
-            boolean insideRegion = activeRegion.contains(pos.getCenter());
+            boolean insideRegion = regionMask.contains(pos.getX(), pos.getY(), pos.getZ());
             if (!insideRegion) {
                 cir.setReturnValue(null);
             }
@@ -44,11 +91,11 @@ public class RenderSectionRegionMixin {
 
     @Inject(method = "getFluidState", at = @At("HEAD"), cancellable = true)
     private void getFluidState(BlockPos pos, CallbackInfoReturnable<FluidState> cir) {
-        // Filter fluids if animation region active
-        AABB activeRegion = AnimationManager.getActiveRegion();
-        if (activeRegion != null) {
+        // Filter fluids only for sections on region boundary
+        RegionMask regionMask = isoanimations$filterMask;
+        if (regionMask != null) {
             // Return empty fluid state if outside active region
-            boolean insideRegion = activeRegion.contains(pos.getCenter());
+            boolean insideRegion = regionMask.contains(pos.getX(), pos.getY(), pos.getZ());
             if (!insideRegion) {
                 cir.setReturnValue(Fluids.EMPTY.defaultFluidState());
             }
@@ -0,0 +1,40 @@
+package com.isoanimations.mixin.client.vanilla;
+
+import com.isoanimations.util.RegionMask;
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotCarrier;
+import com.isoanimations.util.RegionSnapshotHolder;
+import com.mojang.blaze3d.systems.VertexSorting;
+import net.minecraft.client.renderer.SectionBufferBuilderPack;
+import net.minecraft.client.renderer.chunk.RenderSectionRegion;
+import net.minecraft.client.renderer.chunk.SectionCompiler;
+import net.minecraft.core.SectionPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(SectionCompiler.class)
+public class SectionCompilerMixin {
+    @Inject(method = "compile", at = @At("HEAD"), cancellable = true)
+    private void compile(SectionPos sectionPos, RenderSectionRegion region, VertexSorting vertexSorting, SectionBufferBuilderPack pack, CallbackInfoReturnable<SectionCompiler.Results> cir) {
+        // Skip meshing sections outside region this build started with
+        RegionSnapshot snapshot = ((RegionSnapshotHolder) region).isoanimations$getRegionSnapshot();
+        RegionMask regionMask = snapshot.mask();
+        if (regionMask != null && !regionMask.intersectsSection(sectionPos.x(), sectionPos.y(), sectionPos.z())) {
+            // Empty results default to opaque visibility, mark see-through like vanilla does for all-air sections
+            // so occlusion culling can still reach region from a camera outside it
+            SectionCompiler.Results results = new SectionCompiler.Results();
+            results.visibilitySet.setAll(true);
+            ((RegionSnapshotCarrier) results).isoanimations$setRegionSnapshot(snapshot);
+            cir.setReturnValue(results);
+        }
+    }
+
+    @Inject(method = "compile", at = @At("RETURN"))
+    private void compiled(SectionPos sectionPos, RenderSectionRegion region, VertexSorting vertexSorting, SectionBufferBuilderPack pack, CallbackInfoReturnable<SectionCompiler.Results> cir) {
+        // Results carry region they were compiled with so stale meshes are dropped before swap
+        RegionSnapshot snapshot = ((RegionSnapshotHolder) region).isoanimations$getRegionSnapshot();
+        ((RegionSnapshotCarrier) cir.getReturnValue()).isoanimations$setRegionSnapshot(snapshot);
+    }
+}
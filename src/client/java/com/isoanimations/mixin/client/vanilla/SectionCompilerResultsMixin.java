@@ -0,0 +1,24 @@
+package com.isoanimations.mixin.client.vanilla;
+
+import com.isoanimations.util.RegionSnapshot;
+import com.isoanimations.util.RegionSnapshotCarrier;
+import net.minecraft.client.renderer.chunk.SectionCompiler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(SectionCompiler.Results.class)
+public class SectionCompilerResultsMixin implements RegionSnapshotCarrier {
+    // Region results were compiled with, set on builder thread before results are handed on
+    @Unique
+    private RegionSnapshot isoanimations$regionSnapshot;
+
+    @Override
+    public RegionSnapshot isoanimations$getRegionSnapshot() {
+        return isoanimations$regionSnapshot;
+    }
+
+    @Override
+    public void isoanimations$setRegionSnapshot(RegionSnapshot snapshot) {
+        isoanimations$regionSnapshot = snapshot;
+    }
+}
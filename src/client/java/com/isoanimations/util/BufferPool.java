@@ -1,40 +1,180 @@
 package com.isoanimations.util;
 
+import org.bytedeco.javacpp.BytePointer;
+
 import java.nio.ByteBuffer;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
 
 public class BufferPool {
-    private static final int POOL_SIZE = 10;
-    private static final ArrayBlockingQueue<ByteBuffer> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    // Pool depth limits regardless of memory budget
+    private static final int MIN_POOL_SIZE = 3;
+    private static final int MAX_POOL_SIZE = 64;
+
+    // Buffer sizes are rounded up to 1 MiB classes so nearby window sizes share buffers
+    private static final int SIZE_CLASS_BYTES = 1 << 20;
+
+    private static final Object lock = new Object();
+    private static final ArrayDeque<PooledBuffer> freeBuffers = new ArrayDeque<>();
+    private static final Map<ByteBuffer, PooledBuffer> leasedBuffers = new IdentityHashMap<>();
+    private static final Map<ByteBuffer, PooledBuffer> orphanedBuffers = new IdentityHashMap<>(); // Outlived a reclaim, freed once returned
     private static int currentCapacity = 0;
+    private static int poolSize = 0;
+    private static int allocatedBuffers = 0;
 
-    public static void init(int byteSize) {
-        // Only reallocate if window size changed
-        if (byteSize == currentCapacity) {
-            return;
+    private record PooledBuffer(BytePointer pointer, ByteBuffer buffer) {
+        int capacity() {
+            return buffer.capacity();
         }
+    }
 
-        // Clear old buffers and allocate new ones
-        pool.clear();
-        currentCapacity = byteSize;
-        for (int i = 0; i < POOL_SIZE; i++) {
-            pool.offer(ByteBuffer.allocateDirect(byteSize));
+    public static void init(int byteSize, long budgetBytes) {
+        synchronized (lock) {
+            // Derive pool depth from memory budget and frame size
+            int sizeClass = getSizeClass(byteSize);
+            poolSize = (int) Math.max(MIN_POOL_SIZE, Math.min(MAX_POOL_SIZE, budgetBytes / sizeClass));
+
+            // Only reallocate if size class changed
+            if (sizeClass == currentCapacity) {
+                while (allocatedBuffers > poolSize && !freeBuffers.isEmpty()) {
+                    free(freeBuffers.pop());
+                }
+                return;
+            }
+
+            // Free idle buffers of old size class, leased ones are freed when returned
+            currentCapacity = sizeClass;
+            reclaimFreeBuffers();
+            LOGGER.info("Buffer pool using {} buffers of {} MiB", poolSize, sizeClass / SIZE_CLASS_BYTES);
         }
     }
 
     public static ByteBuffer getBufferBlocking() {
-        try {
-            return pool.take();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
+        synchronized (lock) {
+            try {
+                // Wait until a buffer is free or budget allows another one
+                while (freeBuffers.isEmpty() && allocatedBuffers >= poolSize) {
+                    lock.wait();
+                }
+                return lease();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    public static ByteBuffer getBuffer() {
+        synchronized (lock) {
+            if (freeBuffers.isEmpty() && allocatedBuffers >= poolSize) {
+                return null;
+            }
+            return lease();
         }
     }
 
     public static void returnBuffer(ByteBuffer buffer) {
-        if (buffer != null && buffer.capacity() == currentCapacity) {
-            buffer.clear();
-            pool.offer(buffer);
+        if (buffer == null) {
+            return;
         }
+
+        synchronized (lock) {
+            // Ignore buffers this pool never handed out, orphans are freed now that their owner is done
+            PooledBuffer pooled = leasedBuffers.remove(buffer);
+            if (pooled == null) {
+                PooledBuffer orphan = orphanedBuffers.remove(buffer);
+                if (orphan != null) {
+                    orphan.pointer().deallocate();
+                }
+                return;
+            }
+
+            // Free buffers from an old size class or above current pool depth
+            if (pooled.capacity() != currentCapacity || allocatedBuffers > poolSize) {
+                free(pooled);
+            } else {
+                buffer.clear();
+                freeBuffers.push(pooled);
+            }
+            lock.notifyAll();
+        }
+    }
+
+    public static void reclaim() {
+        synchronized (lock) {
+            // Free idle buffers
+            reclaimFreeBuffers();
+
+            // Leases still outstanding may be in use by a thread that has not stopped yet, so never free them here
+            // They stop counting against pool and are freed if their owner returns them later
+            if (!leasedBuffers.isEmpty()) {
+                LOGGER.warn("{} frame buffers still leased at reclaim, freeing them once returned", leasedBuffers.size());
+                orphanedBuffers.putAll(leasedBuffers);
+                allocatedBuffers -= leasedBuffers.size();
+                leasedBuffers.clear();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    public static int getAvailableBuffers() {
+        synchronized (lock) {
+            return freeBuffers.size() + Math.max(0, poolSize - allocatedBuffers);
+        }
+    }
+
+    public static int getLeasedBuffers() {
+        synchronized (lock) {
+            return leasedBuffers.size();
+        }
+    }
+
+    public static int getAllocatedBuffers() {
+        synchronized (lock) {
+            return allocatedBuffers;
+        }
+    }
+
+    public static int getPoolSize() {
+        synchronized (lock) {
+            return poolSize;
+        }
+    }
+
+    public static long getAllocatedBytes() {
+        synchronized (lock) {
+            return (long) allocatedBuffers * currentCapacity;
+        }
+    }
+
+    private static ByteBuffer lease() {
+        // Reuse free buffer or allocate new one off-heap
+        PooledBuffer pooled = freeBuffers.poll();
+        if (pooled == null) {
+            BytePointer pointer = new BytePointer(currentCapacity);
+            pooled = new PooledBuffer(pointer, pointer.asByteBuffer());
+            allocatedBuffers++;
+        }
+
+        leasedBuffers.put(pooled.buffer(), pooled);
+        return pooled.buffer();
+    }
+
+    private static void reclaimFreeBuffers() {
+        while (!freeBuffers.isEmpty()) {
+            free(freeBuffers.pop());
+        }
+    }
+
+    private static void free(PooledBuffer pooled) {
+        pooled.pointer().deallocate();
+        allocatedBuffers--;
+    }
+
+    private static int getSizeClass(int byteSize) {
+        return (int) Math.ceil((double) byteSize / SIZE_CLASS_BYTES) * SIZE_CLASS_BYTES;
     }
 }
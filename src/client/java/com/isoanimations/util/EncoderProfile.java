@@ -0,0 +1,61 @@
+package com.isoanimations.util;
+
+import org.bytedeco.ffmpeg.global.avutil;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Codec settings for one encoder, empty strings and negative numbers mean codec default
+public record EncoderProfile(
+        String name,
+        String codecName,
+        String format,
+        String extension,
+        int pixelFormat,
+        String presetOption,
+        String preset,
+        int crf,
+        int threads,
+        String tune
+) {
+    public static final EncoderProfile X264 = new EncoderProfile("x264", "libx264", "mp4", "mp4", avutil.AV_PIX_FMT_YUV420P, "preset", "medium", 18, 0, "");
+    public static final EncoderProfile X265 = new EncoderProfile("x265", "libx265", "mp4", "mp4", avutil.AV_PIX_FMT_YUV420P, "preset", "medium", 22, 0, "");
+    public static final EncoderProfile VP9 = new EncoderProfile("vp9", "libvpx-vp9", "webm", "webm", avutil.AV_PIX_FMT_YUV420P, "deadline", "good", 31, 0, "");
+    // Packed RGB so intermediate stays lossless, transcode does the only conversion to 4:2:0
+    public static final EncoderProfile FFV1 = new EncoderProfile("ffv1", "ffv1", "matroska", "mkv", avutil.AV_PIX_FMT_BGR0, "", "", -1, 0, "");
+    public static final EncoderProfile MJPEG = new EncoderProfile("mjpeg", "mjpeg", "avi", "avi", avutil.AV_PIX_FMT_YUVJ420P, "", "", 3, 0, "");
+
+    public static final EncoderProfile DEFAULT = X264;
+
+    private static final Map<String, EncoderProfile> BUILT_IN = new LinkedHashMap<>();
+
+    static {
+        for (EncoderProfile profile : new EncoderProfile[]{X264, X265, VP9, FFV1, MJPEG}) {
+            BUILT_IN.put(profile.name(), profile);
+        }
+    }
+
+    public static EncoderProfile get(String name) {
+        return BUILT_IN.get(name.toLowerCase());
+    }
+
+    public static Iterable<String> getNames() {
+        return BUILT_IN.keySet();
+    }
+
+    public EncoderProfile withPreset(String preset) {
+        return new EncoderProfile(name, codecName, format, extension, pixelFormat, presetOption, preset, crf, threads, tune);
+    }
+
+    public EncoderProfile withCrf(int crf) {
+        return new EncoderProfile(name, codecName, format, extension, pixelFormat, presetOption, preset, crf, threads, tune);
+    }
+
+    public EncoderProfile withThreads(int threads) {
+        return new EncoderProfile(name, codecName, format, extension, pixelFormat, presetOption, preset, crf, threads, tune);
+    }
+
+    public EncoderProfile withTune(String tune) {
+        return new EncoderProfile(name, codecName, format, extension, pixelFormat, presetOption, preset, crf, threads, tune);
+    }
+}
@@ -10,4 +10,13 @@ public class ExportFrame {
         this.frameData = frameData;
         this.timestampMicros = timestampMicros;
     }
+
+    public static ExportFrame repeat(long timestampMicros) {
+        // Repeat markers carry no pixels and reuse previous frame
+        return new ExportFrame(null, timestampMicros);
+    }
+
+    public boolean isRepeat() {
+        return frameData == null;
+    }
 }
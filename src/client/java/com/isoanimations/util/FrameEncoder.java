@@ -0,0 +1,131 @@
+package com.isoanimations.util;
+
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+public class FrameEncoder {
+    private final FFmpegFrameRecorder recorder;
+    private final YuvConverter converter; // Null if codec needs a pixel format other than YUV420P
+    private final int width;
+    private final int height;
+    private final double frameRate;
+    private long frameCount = 0;
+
+    // Last recorded frame, held so trailing repeats can be written on finish
+    private ByteBuffer lastFrameData;
+    private long lastRecordedFrame = -1;
+
+    public FrameEncoder(Path outputFile, int width, int height, double frameRate) throws FFmpegFrameRecorder.Exception {
+        this(outputFile, width, height, frameRate, EncoderProfile.DEFAULT);
+    }
+
+    public FrameEncoder(Path outputFile, int width, int height, double frameRate, EncoderProfile profile) throws FFmpegFrameRecorder.Exception {
+        this.width = width;
+        this.height = height;
+        this.frameRate = frameRate;
+
+        // Setup recorder from profile
+        recorder = createRecorder(outputFile, width, height, frameRate, profile);
+
+        // Start recorder
+        recorder.start();
+
+        // Frames are converted to planar YUV up front so recorder skips swscale
+        converter = profile.pixelFormat() == avutil.AV_PIX_FMT_YUV420P ? new YuvConverter(width, height) : null;
+    }
+
+    public static FFmpegFrameRecorder createRecorder(Path outputFile, int width, int height, double frameRate, EncoderProfile profile) {
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(outputFile.toString(), width, height);
+        recorder.setFormat(profile.format());
+        recorder.setVideoCodecName(profile.codecName());
+        recorder.setFrameRate(frameRate);
+        recorder.setPixelFormat(profile.pixelFormat());
+        if (profile.crf() >= 0) {
+            recorder.setVideoQuality(profile.crf());
+            recorder.setVideoOption("crf", String.valueOf(profile.crf()));
+            recorder.setVideoBitrate(0); // Constant quality only
+        }
+        if (!profile.presetOption().isEmpty() && !profile.preset().isEmpty()) {
+            recorder.setVideoOption(profile.presetOption(), profile.preset());
+        }
+        if (profile.threads() > 0) {
+            recorder.setVideoOption("threads", String.valueOf(profile.threads()));
+        }
+        if (!profile.tune().isEmpty()) {
+            recorder.setVideoOption("tune", profile.tune());
+        }
+        return recorder;
+    }
+
+    // Returns buffer no longer needed by encoder (or null) so caller can return it to pool
+    public ByteBuffer encode(ExportFrame frame) throws FFmpegFrameRecorder.Exception {
+        // Repeated frames only advance timestamp, previous frame stays on screen
+        if (frame.isRepeat()) {
+            frameCount++;
+            return null;
+        }
+
+        recordFrame(frame.frameData, frameCount);
+        frameCount++;
+
+        // Hold on to newest frame and release previous one
+        ByteBuffer released = lastFrameData;
+        lastFrameData = frame.frameData;
+        return released;
+    }
+
+    // Returns held frame buffer (or null) so caller can return it to pool
+    public ByteBuffer finish() throws FFmpegFrameRecorder.Exception {
+        ByteBuffer released = lastFrameData;
+        lastFrameData = null;
+        try {
+            // Write last frame again at end so trailing repeats keep their duration
+            if (released != null && lastRecordedFrame < frameCount - 1) {
+                recordFrame(released, frameCount - 1);
+            }
+        } finally {
+            recorder.stop();
+            recorder.release();
+            if (converter != null) {
+                converter.release();
+            }
+        }
+        return released;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    private void recordFrame(ByteBuffer frameData, long frameIndex) throws FFmpegFrameRecorder.Exception {
+        // Calculate frame timestamp
+        long timestamp = Math.round((frameIndex * 1000000) / frameRate);
+        recorder.setTimestamp(timestamp);
+
+        // Codecs needing other pixel formats let recorder convert packed BGR24 frame
+        // Frames are read back bottom-up, so record from last row with a negative stride for vertical flip
+        if (converter == null) {
+            FrameStageEvent stageEvent = PipelineStats.begin();
+            int rowStride = width * 3;
+            ByteBuffer flippedView = frameData.slice((height - 1) * rowStride, rowStride);
+            recorder.recordImage(width, height, Frame.DEPTH_UBYTE, 3, -rowStride, avutil.AV_PIX_FMT_BGR24, flippedView);
+            PipelineStats.end(PipelineStats.Stage.ENCODE, stageEvent);
+            lastRecordedFrame = frameIndex;
+            return;
+        }
+
+        // Convert and flip on worker pool, then hand planar frame straight to encoder
+        FrameStageEvent stageEvent = PipelineStats.begin();
+        ByteBuffer yuvFrame = converter.convert(frameData);
+        PipelineStats.end(PipelineStats.Stage.CONVERT, stageEvent);
+
+        stageEvent = PipelineStats.begin();
+        recorder.recordImage(width, height, Frame.DEPTH_UBYTE, 1, width, avutil.AV_PIX_FMT_YUV420P, yuvFrame);
+        PipelineStats.end(PipelineStats.Stage.ENCODE, stageEvent);
+        lastRecordedFrame = frameIndex;
+    }
+}
@@ -0,0 +1,100 @@
+package com.isoanimations.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+public class FrameSpool {
+    private final Path spoolFile;
+    private final FileChannel channel;
+    private final int frameSize;
+    private final ArrayDeque<SpoolEntry> entries = new ArrayDeque<>();
+    private long writeOffset = 0;
+    private long readOffset = 0;
+
+    private record SpoolEntry(long timestampMicros, boolean repeat) {
+    }
+
+    public FrameSpool(Path spoolFile, int frameSize) throws IOException {
+        this.spoolFile = spoolFile;
+        this.frameSize = frameSize;
+
+        Files.createDirectories(spoolFile.getParent());
+        channel = FileChannel.open(spoolFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public synchronized boolean hasPending() {
+        return !entries.isEmpty();
+    }
+
+    public synchronized int getPendingFrames() {
+        return entries.size();
+    }
+
+    public synchronized void write(ByteBuffer frameData, long timestampMicros) throws IOException {
+        // Positional write straight from pooled buffer, no per-frame mapping to leak until GC
+        ByteBuffer source = frameData.duplicate().limit(frameSize);
+        long position = writeOffset;
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+
+        writeOffset += frameSize;
+        entries.add(new SpoolEntry(timestampMicros, false));
+    }
+
+    public synchronized void writeRepeat(long timestampMicros) {
+        // Repeat markers take no space in spool file
+        entries.add(new SpoolEntry(timestampMicros, true));
+    }
+
+    public synchronized boolean isNextRepeat() {
+        SpoolEntry next = entries.peek();
+        return next != null && next.repeat();
+    }
+
+    public synchronized long readRepeat() {
+        return removeEntry();
+    }
+
+    public synchronized long read(ByteBuffer target) throws IOException {
+        // Positional read of oldest slot straight into pooled buffer
+        target.clear();
+        target.limit(frameSize);
+        long position = readOffset;
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new EOFException("Frame spool ended mid frame");
+            }
+            position += read;
+        }
+        target.flip();
+
+        readOffset += frameSize;
+        return removeEntry();
+    }
+
+    private long removeEntry() {
+        long timestampMicros = entries.remove().timestampMicros();
+
+        // Rewind to start of file once drained so spool space is reused
+        if (entries.isEmpty()) {
+            readOffset = 0;
+            writeOffset = 0;
+        }
+        return timestampMicros;
+    }
+
+    public synchronized void close() throws IOException {
+        entries.clear();
+        channel.close();
+        Files.deleteIfExists(spoolFile);
+    }
+}
@@ -0,0 +1,27 @@
+package com.isoanimations.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.isoanimations.FrameStage")
+@Label("Frame Pipeline Stage")
+@Description("One frame passing through a capture or encoding stage, event duration is stage latency")
+@Category({"Isometric Animations", "Pipeline"})
+@StackTrace(false)
+public class FrameStageEvent extends Event {
+    // Start time for latency histogram, transient so it is not recorded
+    transient long startNanos;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Queued Frames")
+    public int queuedFrames;
+
+    @Label("Free Buffers")
+    public int freeBuffers;
+}
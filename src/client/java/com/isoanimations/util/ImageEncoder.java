@@ -0,0 +1,211 @@
+package com.isoanimations.util;
+
+import com.isoanimations.config.RenderConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+public class ImageEncoder {
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    // Renders compress well even at fastest level, so favour speed at 4K
+    private static final int PNG_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    // Writes one bottom-up BGR24 frame, capture reads back with GL_BGR so byte 0 of each pixel is blue
+    public static void write(Path file, ByteBuffer frameData, int width, int height, RenderConfig.ImageFormat format) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_BYTES)) {
+            switch (format) {
+                case PNG -> writePng(out, frameData, width, height);
+                case TGA -> writeTga(out, frameData, width, height);
+                case QOI -> writeQoi(out, frameData, width, height);
+            }
+        }
+    }
+
+    private static void writePng(OutputStream out, ByteBuffer frameData, int width, int height) throws IOException {
+        int rowBytes = width * 3;
+        out.write(PNG_SIGNATURE);
+
+        // Header: size, 8 bit depth, truecolor, default compression, filter and interlace
+        ByteBuffer header = ByteBuffer.allocate(13);
+        header.putInt(width).putInt(height).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        writePngChunk(out, "IHDR", header.array(), header.capacity());
+
+        // Stream filtered rows through deflater into IDAT chunks
+        Deflater deflater = new Deflater(PNG_COMPRESSION_LEVEL);
+        try (DeflaterOutputStream idat = new DeflaterOutputStream(new PngDataStream(out), deflater, WRITE_BUFFER_BYTES)) {
+            byte[] row = new byte[rowBytes];
+            byte[] filtered = new byte[rowBytes + 1];
+            filtered[0] = 1; // Sub filter, cheap and effective on flat render colours
+            for (int y = 0; y < height; y++) {
+                // Frames are read back bottom-up, so flip while reading
+                frameData.get((height - 1 - y) * rowBytes, row);
+                swapRedBlue(row); // PNG stores RGB
+                System.arraycopy(row, 0, filtered, 1, 3);
+                for (int i = 3; i < rowBytes; i++) {
+                    filtered[i + 1] = (byte) (row[i] - row[i - 3]);
+                }
+                idat.write(filtered);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        writePngChunk(out, "IEND", new byte[0], 0);
+    }
+
+    private static void writePngChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(length);
+        dataOut.write(typeBytes);
+        dataOut.write(data, 0, length);
+        dataOut.writeInt((int) crc.getValue());
+    }
+
+    private static void writeTga(OutputStream out, ByteBuffer frameData, int width, int height) throws IOException {
+        // Uncompressed truecolor header, 24 bit with bottom-left origin so rows go out as read back
+        byte[] header = new byte[18];
+        header[2] = 2;
+        header[12] = (byte) width;
+        header[13] = (byte) (width >> 8);
+        header[14] = (byte) height;
+        header[15] = (byte) (height >> 8);
+        header[16] = 24;
+        out.write(header);
+
+        // TGA stores BGR, same as packed frame
+        int rowBytes = width * 3;
+        byte[] row = new byte[rowBytes];
+        for (int y = 0; y < height; y++) {
+            frameData.get(y * rowBytes, row);
+            out.write(row);
+        }
+    }
+
+    private static void writeQoi(OutputStream out, ByteBuffer frameData, int width, int height) throws IOException {
+        // Header: magic, size, 3 channels, sRGB with linear alpha
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeBytes("qoif");
+        dataOut.writeInt(width);
+        dataOut.writeInt(height);
+        dataOut.writeByte(3);
+        dataOut.writeByte(0);
+
+        // Previously seen pixels stored as 0xRRGGBB, alpha is always opaque
+        int[] index = new int[64];
+        Arrays.fill(index, -1);
+        int previous = 0;
+        int run = 0;
+
+        int rowBytes = width * 3;
+        byte[] row = new byte[rowBytes];
+        for (int y = 0; y < height; y++) {
+            // Frames are read back bottom-up, so flip while reading
+            frameData.get((height - 1 - y) * rowBytes, row);
+            for (int i = 0; i < rowBytes; i += 3) {
+                int b = row[i] & 0xFF;
+                int g = row[i + 1] & 0xFF;
+                int r = row[i + 2] & 0xFF;
+                int pixel = (r << 16) | (g << 8) | b;
+
+                if (pixel == previous) {
+                    run++;
+                    if (run == 62) {
+                        out.write(0xC0 | (run - 1));
+                        run = 0;
+                    }
+                    continue;
+                }
+                if (run > 0) {
+                    out.write(0xC0 | (run - 1));
+                    run = 0;
+                }
+
+                int hash = (r * 3 + g * 5 + b * 7 + 255 * 11) & 63;
+                if (index[hash] == pixel) {
+                    out.write(hash);
+                } else {
+                    index[hash] = pixel;
+
+                    // Differences wrap like signed bytes
+                    int dr = (byte) (r - (previous >> 16));
+                    int dg = (byte) (g - ((previous >> 8) & 0xFF));
+                    int db = (byte) (b - (previous & 0xFF));
+                    int drdg = dr - dg;
+                    int dbdg = db - dg;
+                    if (dr >= -2 && dr <= 1 && dg >= -2 && dg <= 1 && db >= -2 && db <= 1) {
+                        out.write(0x40 | ((dr + 2) << 4) | ((dg + 2) << 2) | (db + 2));
+                    } else if (dg >= -32 && dg <= 31 && drdg >= -8 && drdg <= 7 && dbdg >= -8 && dbdg <= 7) {
+                        out.write(0x80 | (dg + 32));
+                        out.write(((drdg + 8) << 4) | (dbdg + 8));
+                    } else {
+                        out.write(0xFE);
+                        out.write(r);
+                        out.write(g);
+                        out.write(b);
+                    }
+                }
+                previous = pixel;
+            }
+        }
+        if (run > 0) {
+            out.write(0xC0 | (run - 1));
+        }
+
+        // End marker
+        out.write(new byte[]{0, 0, 0, 0, 0, 0, 0, 1});
+    }
+
+    private static void swapRedBlue(byte[] row) {
+        for (int i = 0; i < row.length; i += 3) {
+            byte b = row[i];
+            row[i] = row[i + 2];
+            row[i + 2] = b;
+        }
+    }
+
+    // Wraps deflated bytes into IDAT chunks as deflater flushes them
+    private static class PngDataStream extends OutputStream {
+        private final OutputStream out;
+
+        PngDataStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException {
+            if (length == 0) {
+                return;
+            }
+            byte[] chunk = offset == 0 ? data : Arrays.copyOfRange(data, offset, offset + length);
+            writePngChunk(out, "IDAT", chunk, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Leave file stream open for IEND chunk
+            flush();
+        }
+    }
+}
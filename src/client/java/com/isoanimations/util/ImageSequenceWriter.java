@@ -0,0 +1,122 @@
+package com.isoanimations.util;
+
+import com.isoanimations.config.RenderConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class ImageSequenceWriter {
+    // Frames waiting per worker before dispatch thread compresses frames itself
+    private static final int QUEUED_FRAMES_PER_WORKER = 2;
+
+    private final Path outputDir;
+    private final int width;
+    private final int height;
+    private final RenderConfig.ImageFormat format;
+    private final ThreadPoolExecutor pool;
+    private long frameCount = 0;
+
+    // Newest written frame, repeats copy its file once it exists
+    private CompletableFuture<Path> lastFrameFile;
+
+    public ImageSequenceWriter(Path outputDir, int width, int height, RenderConfig.ImageFormat format) {
+        this.outputDir = outputDir;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+
+        // Leave one core for render thread, bounded queue makes dispatch thread help out when pool is behind
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadIndex = new AtomicInteger();
+        pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * QUEUED_FRAMES_PER_WORKER),
+                task -> {
+                    Thread thread = new Thread(task);
+                    thread.setName("Image Sequence Thread " + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public Path getFramePath(long frameIndex) {
+        return outputDir.resolve("frame_%06d.%s".formatted(frameIndex, format.name().toLowerCase()));
+    }
+
+    public void submit(ExportFrame frame) {
+        // Nothing to repeat before first frame, so sequence starts at first real frame
+        if (frame.isRepeat()) {
+            if (lastFrameFile != null) {
+                Path target = getFramePath(frameCount++);
+                lastFrameFile.thenAccept(source -> copyFrame(source, target));
+            }
+            return;
+        }
+
+        // Files are named by frame number so workers can finish in any order
+        Path target = getFramePath(frameCount++);
+        ByteBuffer frameData = frame.frameData;
+        lastFrameFile = CompletableFuture.supplyAsync(() -> writeFrame(frameData, target), pool);
+    }
+
+    public void finish() {
+        // Let workers drain queue, repeat copies run on worker that wrote their source
+        // Keep waiting even if interrupted so no worker still holds a pooled buffer afterwards
+        pool.shutdown();
+        boolean interrupted = false;
+        while (!pool.isTerminated()) {
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted while writing image sequence, still waiting", e);
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        lastFrameFile = null;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    private Path writeFrame(ByteBuffer frameData, Path target) {
+        FrameStageEvent stageEvent = PipelineStats.begin();
+        try {
+            ImageEncoder.write(target, frameData, width, height, format);
+            PipelineStats.end(PipelineStats.Stage.ENCODE, stageEvent);
+            return target;
+        } catch (IOException e) {
+            LOGGER.error("Failed to write frame {}", target.getFileName(), e);
+            return null;
+        } finally {
+            // Return buffer to pool as soon as file is encoded
+            BufferPool.returnBuffer(frameData);
+        }
+    }
+
+    private static void copyFrame(Path source, Path target) {
+        // Source failed to write, so there is nothing to repeat
+        if (source == null) {
+            return;
+        }
+
+        try {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.error("Failed to copy repeated frame {}", target.getFileName(), e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.isoanimations.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+    // One bucket per power of two nanoseconds
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        buckets.incrementAndGet(BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(nanos | 1));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long samples = count.get();
+        return samples == 0 ? 0 : totalNanos.get() / (samples * 1_000_000.0);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        long samples = count.get();
+        if (samples == 0) {
+            return 0;
+        }
+
+        // Walk buckets until percentile reached and report bucket upper bound
+        long target = (long) Math.ceil(samples * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                long upperBound = i >= 62 ? Long.MAX_VALUE : (2L << i) - 1;
+                return Math.min(upperBound, maxNanos.get()) / 1_000_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,88 @@
+package com.isoanimations.util;
+
+import java.util.Collection;
+
+public class PipelineStats {
+    private static final Stage[] STAGES = Stage.values();
+
+    // Export queue sampled for its real size, counting adds and removes drifts when frames are dropped
+    private static volatile Collection<?> trackedQueue;
+    private static volatile long sessionStartNanos = System.nanoTime();
+    private static volatile long sessionEndNanos = -1; // Set once encoding finishes so rates stop decaying
+
+    public enum Stage {
+        CAPTURE("Capture"),
+        READBACK("Readback"),
+        QUEUE("Queue"),
+        SPILL("Disk Spill"),
+        CONVERT("YUV Convert"),
+        ENCODE("Encode");
+
+        private final String label;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+    }
+
+    public static void reset() {
+        for (Stage stage : STAGES) {
+            stage.histogram.reset();
+        }
+        sessionStartNanos = System.nanoTime();
+        sessionEndNanos = -1;
+    }
+
+    public static void stop() {
+        sessionEndNanos = System.nanoTime();
+    }
+
+    public static void trackQueue(Collection<?> queue) {
+        trackedQueue = queue;
+    }
+
+    public static FrameStageEvent begin() {
+        // Event is always created so JFR times stage itself, it is cheap and dropped when not committed
+        FrameStageEvent event = new FrameStageEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void end(Stage stage, FrameStageEvent event) {
+        event.end();
+        stage.histogram.record(System.nanoTime() - event.startNanos);
+
+        // Only fill in fields while a recording wants this event
+        if (event.shouldCommit()) {
+            event.stage = stage.label;
+            event.queuedFrames = getQueuedFrames();
+            event.freeBuffers = BufferPool.getAvailableBuffers();
+            event.commit();
+        }
+    }
+
+    public static int getQueuedFrames() {
+        Collection<?> queue = trackedQueue;
+        return queue == null ? 0 : queue.size();
+    }
+
+    public static double getFramesPerSecond(Stage stage) {
+        long endNanos = sessionEndNanos >= 0 ? sessionEndNanos : System.nanoTime();
+        double elapsedSeconds = (endNanos - sessionStartNanos) / 1_000_000_000.0;
+        return elapsedSeconds <= 0 ? 0 : stage.histogram.getCount() / elapsedSeconds;
+    }
+
+    public static Stage[] getStages() {
+        return STAGES;
+    }
+}
@@ -0,0 +1,255 @@
+package com.isoanimations.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class RegionMask {
+    // Each section stores one bit per block, indexed as (y << 8) | (z << 4) | x
+    private static final int SECTION_WORDS = 64;
+    private static final long[] FULL_SECTION = new long[SECTION_WORDS];
+    private static final long[] EMPTY_SECTION = new long[SECTION_WORDS];
+
+    static {
+        Arrays.fill(FULL_SECTION, -1L);
+    }
+
+    // Inclusive block bounds of every added box
+    public final int minX, minY, minZ;
+    public final int maxX, maxY, maxZ;
+
+    // Sparse sections keyed by packed section position, missing = empty section, FULL_SECTION = every block inside
+    // Sparse so boxes far apart only cost the sections they cover, not their whole bounding box
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+
+    public record Box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean subtract) {
+        public static Box fromCorners(BlockPos pos1, BlockPos pos2, boolean subtract) {
+            return new Box(
+                    Math.min(pos1.getX(), pos2.getX()),
+                    Math.min(pos1.getY(), pos2.getY()),
+                    Math.min(pos1.getZ(), pos2.getZ()),
+                    Math.max(pos1.getX(), pos2.getX()),
+                    Math.max(pos1.getY(), pos2.getY()),
+                    Math.max(pos1.getZ(), pos2.getZ()),
+                    subtract
+            );
+        }
+    }
+
+    private RegionMask(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    public static RegionMask fromCorners(BlockPos pos1, BlockPos pos2) {
+        return compile(List.of(Box.fromCorners(pos1, pos2, false)));
+    }
+
+    public static RegionMask compile(List<Box> boxes) {
+        // Bounds cover every added box, subtracted boxes only clear bits
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (Box box : boxes) {
+            if (!box.subtract()) {
+                minX = Math.min(minX, box.minX());
+                minY = Math.min(minY, box.minY());
+                minZ = Math.min(minZ, box.minZ());
+                maxX = Math.max(maxX, box.maxX());
+                maxY = Math.max(maxY, box.maxY());
+                maxZ = Math.max(maxZ, box.maxZ());
+            }
+        }
+        if (minX > maxX) {
+            throw new IllegalArgumentException("Region needs at least one added box");
+        }
+
+        // Apply boxes in order so later boxes override earlier ones
+        RegionMask mask = new RegionMask(minX, minY, minZ, maxX, maxY, maxZ);
+        for (Box box : boxes) {
+            mask.apply(box);
+        }
+        mask.normalize();
+        return mask;
+    }
+
+    private void apply(Box box) {
+        // Clip box to mask bounds
+        int x0 = Math.max(box.minX(), minX), x1 = Math.min(box.maxX(), maxX);
+        int y0 = Math.max(box.minY(), minY), y1 = Math.min(box.maxY(), maxY);
+        int z0 = Math.max(box.minZ(), minZ), z1 = Math.min(box.maxZ(), maxZ);
+        if (x0 > x1 || y0 > y1 || z0 > z1) {
+            return;
+        }
+
+        for (int sx = x0 >> 4; sx <= x1 >> 4; sx++) {
+            for (int sy = y0 >> 4; sy <= y1 >> 4; sy++) {
+                for (int sz = z0 >> 4; sz <= z1 >> 4; sz++) {
+                    // Box range local to this section
+                    int lx0 = Math.max(x0, sx << 4) & 15, lx1 = Math.min(x1, (sx << 4) + 15) & 15;
+                    int ly0 = Math.max(y0, sy << 4) & 15, ly1 = Math.min(y1, (sy << 4) + 15) & 15;
+                    int lz0 = Math.max(z0, sz << 4) & 15, lz1 = Math.min(z1, (sz << 4) + 15) & 15;
+                    long key = SectionPos.asLong(sx, sy, sz);
+
+                    // Whole section covered, no need for per-block bits
+                    if (lx0 == 0 && ly0 == 0 && lz0 == 0 && lx1 == 15 && ly1 == 15 && lz1 == 15) {
+                        if (box.subtract()) {
+                            sections.remove(key);
+                        } else {
+                            sections.put(key, FULL_SECTION);
+                        }
+                        continue;
+                    }
+
+                    // Copy shared or missing section before changing bits
+                    long[] bits = sections.get(key);
+                    if (bits == null) {
+                        if (box.subtract()) {
+                            continue;
+                        }
+                        bits = new long[SECTION_WORDS];
+                    } else if (bits == FULL_SECTION) {
+                        bits = FULL_SECTION.clone();
+                    }
+                    sections.put(key, bits);
+
+                    // Each word holds four 16 block rows along X
+                    long rowMask = ((1L << (lx1 - lx0 + 1)) - 1) << lx0;
+                    for (int y = ly0; y <= ly1; y++) {
+                        for (int z = lz0; z <= lz1; z++) {
+                            int bit = (y << 8) | (z << 4);
+                            long wordMask = rowMask << (bit & 63);
+                            if (box.subtract()) {
+                                bits[bit >>> 6] &= ~wordMask;
+                            } else {
+                                bits[bit >>> 6] |= wordMask;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void normalize() {
+        // Collapse sections that ended up full or empty so lookups and culling can skip bits
+        ObjectIterator<Long2ObjectMap.Entry<long[]>> iterator = sections.long2ObjectEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Long2ObjectMap.Entry<long[]> entry = iterator.next();
+            long[] bits = entry.getValue();
+            if (bits == FULL_SECTION) {
+                continue;
+            }
+            if (Arrays.equals(bits, FULL_SECTION)) {
+                entry.setValue(FULL_SECTION);
+            } else if (Arrays.equals(bits, EMPTY_SECTION)) {
+                iterator.remove();
+            }
+        }
+        sections.trim();
+    }
+
+    private long[] getSection(int sectionX, int sectionY, int sectionZ) {
+        // Sections outside bounds are always empty, skip hashing them
+        if (sectionX < minX >> 4 || sectionX > maxX >> 4 || sectionY < minY >> 4 || sectionY > maxY >> 4
+                || sectionZ < minZ >> 4 || sectionZ > maxZ >> 4) {
+            return null;
+        }
+        return sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+    }
+
+    public boolean contains(int x, int y, int z) {
+        // Bounds check first so blocks far outside never touch section grid
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            return false;
+        }
+
+        long[] bits = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        if (bits == null || bits == FULL_SECTION) {
+            return bits != null;
+        }
+        int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public boolean containsPoint(double x, double y, double z) {
+        return contains((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+    }
+
+    public boolean intersectsSection(int sectionX, int sectionY, int sectionZ) {
+        return getSection(sectionX, sectionY, sectionZ) != null;
+    }
+
+    public boolean containsSections(int minSectionX, int minSectionY, int minSectionZ, int maxSectionX, int maxSectionY, int maxSectionZ) {
+        for (int x = minSectionX; x <= maxSectionX; x++) {
+            for (int y = minSectionY; y <= maxSectionY; y++) {
+                for (int z = minSectionZ; z <= maxSectionZ; z++) {
+                    if (getSection(x, y, z) != FULL_SECTION) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean sameBlocks(RegionMask other) {
+        if (other == null || minX != other.minX || minY != other.minY || minZ != other.minZ
+                || maxX != other.maxX || maxY != other.maxY || maxZ != other.maxZ) {
+            return false;
+        }
+        if (sections.size() != other.sections.size()) {
+            return false;
+        }
+        for (Long2ObjectMap.Entry<long[]> entry : sections.long2ObjectEntrySet()) {
+            if (!Arrays.equals(entry.getValue(), other.sections.get(entry.getLongKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean coversSameBlocks(RegionMask a, RegionMask b, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (a == b) {
+            return true;
+        }
+
+        for (int sx = minX >> 4; sx <= maxX >> 4; sx++) {
+            for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                for (int sz = minZ >> 4; sz <= maxZ >> 4; sz++) {
+                    // Null mask means no filtering, so every block is visible
+                    long[] bitsA = a == null ? FULL_SECTION : a.getSection(sx, sy, sz);
+                    long[] bitsB = b == null ? FULL_SECTION : b.getSection(sx, sy, sz);
+                    if (Arrays.equals(bitsA, bitsB)) {
+                        continue;
+                    }
+
+                    // Sections differ, so compare only blocks inside box
+                    int x0 = Math.max(minX, sx << 4), x1 = Math.min(maxX, (sx << 4) + 15);
+                    int y0 = Math.max(minY, sy << 4), y1 = Math.min(maxY, (sy << 4) + 15);
+                    int z0 = Math.max(minZ, sz << 4), z1 = Math.min(maxZ, (sz << 4) + 15);
+                    for (int x = x0; x <= x1; x++) {
+                        for (int y = y0; y <= y1; y++) {
+                            for (int z = z0; z <= z1; z++) {
+                                boolean inA = a == null || a.contains(x, y, z);
+                                boolean inB = b == null || b.contains(x, y, z);
+                                if (inA != inB) {
+                                    return false;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.isoanimations.util;
+
+import net.minecraft.world.phys.AABB;
+
+// Immutable region state, replaced as a whole whenever region changes
+public record RegionSnapshot(long version, RegionMask mask, AABB bounds) {
+    public static final RegionSnapshot NONE = new RegionSnapshot(0, null, null);
+
+    public static RegionSnapshot of(long version, RegionMask mask) {
+        if (mask == null) {
+            return new RegionSnapshot(version, null, null);
+        }
+        AABB bounds = new AABB(mask.minX, mask.minY, mask.minZ, mask.maxX + 1, mask.maxY + 1, mask.maxZ + 1);
+        return new RegionSnapshot(version, mask, bounds);
+    }
+}
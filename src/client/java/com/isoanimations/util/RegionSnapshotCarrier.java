@@ -0,0 +1,6 @@
+package com.isoanimations.util;
+
+// Implemented by build data mixins so snapshot a build started with follows data to later stages
+public interface RegionSnapshotCarrier extends RegionSnapshotHolder {
+    void isoanimations$setRegionSnapshot(RegionSnapshot snapshot);
+}
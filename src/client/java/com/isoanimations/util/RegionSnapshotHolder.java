@@ -0,0 +1,6 @@
+package com.isoanimations.util;
+
+// Implemented by chunk build mixins to expose snapshot their build started with
+public interface RegionSnapshotHolder {
+    RegionSnapshot isoanimations$getRegionSnapshot();
+}
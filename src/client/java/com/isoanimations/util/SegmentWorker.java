@@ -0,0 +1,250 @@
+package com.isoanimations.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.isoanimations.IsometricAnimations.LOGGER;
+
+public class SegmentWorker {
+    private static final long POLL_TIMEOUT_MS = 10;
+
+    // Bounded so pooled buffers are shared between workers, full queue blocks dispatch or spills to worker spool
+    private final BlockingQueue<SegmentFrame> frameQueue;
+    private volatile boolean finishing = false;
+
+    // Overflow spool so a whole segment can wait on disk while other workers run, null when spilling is off
+    private final FrameSpool spool;
+    private final ArrayDeque<Integer> spooledSegments = new ArrayDeque<>();
+
+    private final Path segmentDir;
+    private final int width;
+    private final int height;
+    private final double frameRate;
+    private final EncoderProfile profile;
+    private final Thread thread;
+
+    // Segments that failed to open or close, left out when segments are joined
+    private final Set<Integer> failedSegments = new HashSet<>();
+
+    private record SegmentFrame(int segmentIndex, ExportFrame frame) {
+    }
+
+    public SegmentWorker(int workerIndex, Path segmentDir, int width, int height, double frameRate, EncoderProfile profile,
+                         int queueCapacity, boolean spillToDisk) throws IOException {
+        this.frameQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.spool = spillToDisk ? new FrameSpool(segmentDir.resolve("worker_%d.raw".formatted(workerIndex)), width * height * 3) : null;
+        this.segmentDir = segmentDir;
+        this.width = width;
+        this.height = height;
+        this.frameRate = frameRate;
+        this.profile = profile;
+
+        // Start encoding thread in background
+        thread = new Thread(this::encodingLoop);
+        thread.setName("JavaCV Segment Encoding Thread " + workerIndex);
+        thread.start();
+    }
+
+    public static Path getSegmentPath(Path segmentDir, int segmentIndex, EncoderProfile profile) {
+        return segmentDir.resolve("segment_%05d.%s".formatted(segmentIndex, profile.extension()));
+    }
+
+    public void submit(int segmentIndex, ExportFrame frame) throws InterruptedException {
+        SegmentFrame next = new SegmentFrame(segmentIndex, frame);
+
+        // Without spool block until worker has room
+        if (spool == null) {
+            try {
+                frameQueue.put(next);
+            } catch (InterruptedException e) {
+                BufferPool.returnBuffer(frame.frameData);
+                throw e;
+            }
+            return;
+        }
+
+        synchronized (spool) {
+            // Keep frame order by spilling to disk while older frames are still spooled
+            if (!spool.hasPending() && frameQueue.offer(next)) {
+                return;
+            }
+
+            try {
+                if (frame.isRepeat()) {
+                    spool.writeRepeat(frame.timestampMicros);
+                } else {
+                    spool.write(frame.frameData, frame.timestampMicros);
+                }
+                spooledSegments.add(segmentIndex);
+            } catch (IOException e) {
+                LOGGER.error("Failed to spool frame for segment {}, dropping frame", segmentIndex, e);
+            } finally {
+                // Frame is on disk now, so buffer goes straight back for capture
+                BufferPool.returnBuffer(frame.frameData);
+            }
+        }
+    }
+
+    public void finish() throws InterruptedException {
+        // Let worker drain queue and spool then wait for it to die
+        finishing = true;
+        thread.join();
+    }
+
+    private boolean hasSpooledFrames() {
+        if (spool == null) {
+            return false;
+        }
+        synchronized (spool) {
+            return spool.hasPending();
+        }
+    }
+
+    private SegmentFrame pollFrame() throws InterruptedException, IOException {
+        // Queued frames are always older than spooled ones
+        SegmentFrame next = frameQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (next != null || spool == null) {
+            return next;
+        }
+
+        synchronized (spool) {
+            if (!spool.hasPending()) {
+                return null;
+            }
+            if (spool.isNextRepeat()) {
+                return new SegmentFrame(spooledSegments.remove(), ExportFrame.repeat(spool.readRepeat()));
+            }
+
+            // Never wait for a buffer while holding spool, dispatch would stall behind us
+            ByteBuffer frameData = BufferPool.getBuffer();
+            if (frameData == null) {
+                return null;
+            }
+            try {
+                long captureTime = spool.read(frameData);
+                return new SegmentFrame(spooledSegments.remove(), new ExportFrame(frameData, captureTime));
+            } catch (IOException e) {
+                BufferPool.returnBuffer(frameData);
+                throw e;
+            }
+        }
+    }
+
+    // Only valid after finish, worker thread owns set until then
+    public boolean isSegmentFailed(int segmentIndex) {
+        return failedSegments.contains(segmentIndex);
+    }
+
+    private void encodingLoop() {
+        FrameEncoder encoder = null;
+        int currentSegment = -1;
+
+        while (true) {
+            SegmentFrame next;
+            try {
+                next = pollFrame();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Failed to read spooled frame for segment", e);
+                continue;
+            }
+
+            // Stream ends once dispatch is done and nothing is left queued or spooled
+            if (next == null) {
+                if (finishing && frameQueue.isEmpty() && !hasSpooledFrames()) {
+                    break;
+                }
+                continue;
+            }
+
+            ByteBuffer released = next.frame().frameData;
+            try {
+                // Close finished segment when a new one starts
+                if (next.segmentIndex() != currentSegment && encoder != null) {
+                    FrameEncoder finished = encoder;
+                    encoder = null;
+                    finishSegment(finished, currentSegment);
+                }
+
+                // Drop rest of a segment whose encoder could not be opened
+                if (failedSegments.contains(next.segmentIndex())) {
+                    continue;
+                }
+
+                // Open encoder for new segment, each segment starting on a keyframe
+                if (encoder == null) {
+                    currentSegment = next.segmentIndex();
+                    encoder = openSegment(currentSegment);
+                    if (encoder == null) {
+                        continue;
+                    }
+                }
+
+                released = encoder.encode(next.frame());
+            } catch (Exception e) {
+                LOGGER.error("Failed to encode frame for segment {}", next.segmentIndex(), e);
+            } finally {
+                // Return buffer to pool once encoder is done with it
+                BufferPool.returnBuffer(released);
+            }
+        }
+
+        // Close last segment, or cleanup if interrupted mid segment
+        if (encoder != null) {
+            finishSegment(encoder, currentSegment);
+        }
+        closeSpool();
+    }
+
+    private void closeSpool() {
+        if (spool == null) {
+            return;
+        }
+        try {
+            synchronized (spool) {
+                spool.close();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to delete segment spool", e);
+        }
+    }
+
+    private FrameEncoder openSegment(int segmentIndex) {
+        try {
+            return new FrameEncoder(getSegmentPath(segmentDir, segmentIndex, profile), width, height, frameRate, profile);
+        } catch (Exception e) {
+            LOGGER.error("Failed to open encoder for segment {}, dropping segment", segmentIndex, e);
+            markFailed(segmentIndex);
+            return null;
+        }
+    }
+
+    private void finishSegment(FrameEncoder encoder, int segmentIndex) {
+        try {
+            BufferPool.returnBuffer(encoder.finish());
+        } catch (Exception e) {
+            LOGGER.error("Failed to stop recorder for segment {}, dropping segment", segmentIndex, e);
+            markFailed(segmentIndex);
+        }
+    }
+
+    private void markFailed(int segmentIndex) {
+        // Remove partial file so join never reads a broken segment
+        failedSegments.add(segmentIndex);
+        try {
+            Files.deleteIfExists(getSegmentPath(segmentDir, segmentIndex, profile));
+        } catch (IOException e) {
+            LOGGER.error("Failed to delete broken segment {}", segmentIndex, e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.isoanimations.util;
+
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+
+public class VideoTranscoder {
+    // Report progress every this many percent
+    private static final int PROGRESS_STEP = 10;
+
+    public static void transcode(Path inputFile, Path outputFile, EncoderProfile profile, IntConsumer progressPercent) throws Exception {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(inputFile.toString())) {
+            // Decode straight to planar YUV, the single colour conversion of a lossless RGB intermediate
+            grabber.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+            grabber.start();
+
+            try (FFmpegFrameRecorder recorder = FrameEncoder.createRecorder(outputFile, grabber.getImageWidth(), grabber.getImageHeight(), grabber.getFrameRate(), profile)) {
+                recorder.start();
+
+                int totalFrames = Math.max(1, grabber.getLengthInVideoFrames());
+                int frameIndex = 0;
+                int lastReported = 0;
+                Frame frame;
+                while ((frame = grabber.grabImage()) != null) {
+                    // Keep capture timestamps so repeated frame gaps survive transcode
+                    recorder.setTimestamp(frame.timestamp);
+                    recorder.record(frame, avutil.AV_PIX_FMT_YUV420P);
+                    frameIndex++;
+
+                    int percent = Math.min(100, frameIndex * 100 / totalFrames);
+                    if (percent - lastReported >= PROGRESS_STEP) {
+                        lastReported = percent;
+                        progressPercent.accept(percent);
+                    }
+                }
+                recorder.stop();
+            }
+            grabber.stop();
+        }
+    }
+}
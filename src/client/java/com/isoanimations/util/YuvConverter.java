@@ -0,0 +1,122 @@
+package com.isoanimations.util;
+
+import org.bytedeco.javacpp.BytePointer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class YuvConverter {
+    // Shared by all encoders, leave one core for render thread
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    // Rows per task, always even so each band owns whole chroma rows
+    private static final int BAND_ROWS = 32;
+
+    private final int width;
+    private final int height;
+    private final BytePointer yuvPointer;
+    private final ByteBuffer yuvBuffer;
+
+    public YuvConverter(int width, int height) {
+        if ((width & 1) != 0 || (height & 1) != 0) {
+            throw new IllegalArgumentException("YUV420 needs even frame size, got %dx%d".formatted(width, height));
+        }
+        this.width = width;
+        this.height = height;
+
+        // Planar Y, U and V packed back to back, reused for every frame
+        yuvPointer = new BytePointer((long) width * height * 3 / 2);
+        yuvBuffer = yuvPointer.asByteBuffer();
+    }
+
+    // Converts bottom-up packed frame into top-down YUV420P, returned buffer is overwritten by next call
+    public ByteBuffer convert(ByteBuffer packed) {
+        POOL.invoke(new BandTask(packed, 0, height));
+        return yuvBuffer;
+    }
+
+    public void release() {
+        yuvPointer.deallocate();
+    }
+
+    private class BandTask extends RecursiveAction {
+        private final ByteBuffer packed;
+        private final int startRow;
+        private final int endRow;
+
+        BandTask(ByteBuffer packed, int startRow, int endRow) {
+            this.packed = packed;
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            // Split until bands are small enough to spread across pool
+            int rows = endRow - startRow;
+            if (rows > BAND_ROWS) {
+                int middle = startRow + ((rows / 2) & ~1);
+                invokeAll(new BandTask(packed, startRow, middle), new BandTask(packed, middle, endRow));
+                return;
+            }
+            convertRows(packed, startRow, endRow);
+        }
+    }
+
+    private void convertRows(ByteBuffer packed, int startRow, int endRow) {
+        int rowBytes = width * 3;
+        int chromaWidth = width / 2;
+        int lumaSize = width * height;
+        int chromaSize = lumaSize / 4;
+
+        // Work on heap copies of each row pair so inner loops stay simple array code the JIT can vectorize
+        byte[] top = new byte[rowBytes];
+        byte[] bottom = new byte[rowBytes];
+        byte[] yTop = new byte[width];
+        byte[] yBottom = new byte[width];
+        byte[] uRow = new byte[chromaWidth];
+        byte[] vRow = new byte[chromaWidth];
+
+        for (int row = startRow; row < endRow; row += 2) {
+            // Frames are read back bottom-up, so flip while reading
+            packed.get((height - 1 - row) * rowBytes, top);
+            packed.get((height - 2 - row) * rowBytes, bottom);
+
+            convertLuma(top, yTop);
+            convertLuma(bottom, yBottom);
+            convertChroma(top, bottom, uRow, vRow);
+
+            yuvBuffer.put(row * width, yTop);
+            yuvBuffer.put((row + 1) * width, yBottom);
+            yuvBuffer.put(lumaSize + (row / 2) * chromaWidth, uRow);
+            yuvBuffer.put(lumaSize + chromaSize + (row / 2) * chromaWidth, vRow);
+        }
+    }
+
+    // BT.601 limited range, same matrix swscale used for these frames
+    // Frames are read back as packed BGR24, so byte 0 of each pixel is blue
+    private static void convertLuma(byte[] pixels, byte[] luma) {
+        for (int x = 0; x < luma.length; x++) {
+            int b = pixels[x * 3] & 0xFF;
+            int g = pixels[x * 3 + 1] & 0xFF;
+            int r = pixels[x * 3 + 2] & 0xFF;
+            luma[x] = (byte) (((66 * r + 129 * g + 25 * b + 128) >> 8) + 16);
+        }
+    }
+
+    private static void convertChroma(byte[] top, byte[] bottom, byte[] u, byte[] v) {
+        for (int x = 0; x < u.length; x++) {
+            // Average 2x2 block
+            int i = x * 6;
+            int b = (top[i] & 0xFF) + (top[i + 3] & 0xFF) + (bottom[i] & 0xFF) + (bottom[i + 3] & 0xFF);
+            int g = (top[i + 1] & 0xFF) + (top[i + 4] & 0xFF) + (bottom[i + 1] & 0xFF) + (bottom[i + 4] & 0xFF);
+            int r = (top[i + 2] & 0xFF) + (top[i + 5] & 0xFF) + (bottom[i + 2] & 0xFF) + (bottom[i + 5] & 0xFF);
+            b = (b + 2) >> 2;
+            g = (g + 2) >> 2;
+            r = (r + 2) >> 2;
+            u[x] = (byte) (((-38 * r - 74 * g + 112 * b + 128) >> 8) + 128);
+            v[x] = (byte) (((112 * r - 94 * g - 18 * b + 128) >> 8) + 128);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.isoanimations.benchmark;
+
+import com.isoanimations.util.BufferPool;
+import com.isoanimations.util.ExportFrame;
+import com.isoanimations.util.FrameEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EncodePipelineBenchmark {
+    private static final int SYNTHETIC_FRAMES = 8;
+    private static final double FRAME_RATE = 240;
+    private static final long BUFFER_BUDGET_BYTES = 512L * 1024 * 1024;
+
+    @Param({"720p", "1080p", "1440p", "4K"})
+    public String resolution;
+
+    private ByteBuffer[] syntheticFrames;
+    private FrameEncoder encoder;
+    private Path outputFile;
+    private long frameIndex = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int width = SyntheticFrames.getWidth(resolution);
+        int height = SyntheticFrames.getHeight(resolution);
+
+        // Size pool the same way a recording session does
+        BufferPool.init(width * height * 3, BUFFER_BUDGET_BYTES);
+        syntheticFrames = SyntheticFrames.create(width, height, SYNTHETIC_FRAMES);
+
+        outputFile = Files.createTempFile("isoanimations-bench", ".mp4");
+        encoder = new FrameEncoder(outputFile, width, height, FRAME_RATE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BufferPool.returnBuffer(encoder.finish());
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long captureToEncode() throws Exception {
+        // Copy synthetic readback into pooled buffer like VideoStreamManager.submitFrame
+        ByteBuffer frameData = BufferPool.getBufferBlocking();
+        frameData.clear();
+        frameData.put(syntheticFrames[(int) (frameIndex++ % SYNTHETIC_FRAMES)].duplicate());
+        frameData.flip();
+
+        // Encode and return released buffer like encoding thread
+        ByteBuffer released = frameData;
+        try {
+            released = encoder.encode(new ExportFrame(frameData, frameIndex));
+        } finally {
+            BufferPool.returnBuffer(released);
+        }
+        return encoder.getFrameCount();
+    }
+}
@@ -0,0 +1,40 @@
+package com.isoanimations.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+public class SyntheticFrames {
+    public static int getWidth(String resolution) {
+        return switch (resolution) {
+            case "720p" -> 1280;
+            case "1080p" -> 1920;
+            case "1440p" -> 2560;
+            case "4K" -> 3840;
+            default -> throw new IllegalArgumentException("Unknown resolution " + resolution);
+        };
+    }
+
+    public static int getHeight(String resolution) {
+        return getWidth(resolution) * 9 / 16;
+    }
+
+    public static ByteBuffer[] create(int width, int height, int count) {
+        // Generate moving gradients with noise so encoder does realistic work
+        Random random = new Random(42);
+        ByteBuffer[] frames = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            ByteBuffer frame = ByteBuffer.allocateDirect(width * height * 3);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int noise = random.nextInt(16);
+                    frame.put((byte) (x + i * 8 + noise));
+                    frame.put((byte) (y + i * 4 + noise));
+                    frame.put((byte) (x + y + noise));
+                }
+            }
+            frame.flip();
+            frames[i] = frame;
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,92 @@
+package com.isoanimations.benchmark;
+
+import com.isoanimations.config.RenderConfig;
+import com.isoanimations.manager.VideoStreamManager;
+import com.isoanimations.util.BufferPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class VideoStreamBenchmark {
+    private static final int SYNTHETIC_FRAMES = 8;
+    private static final long FRAME_INTERVAL_MICROS = 1_000_000 / 240;
+
+    @Param({"720p", "1080p", "1440p", "4K"})
+    public String resolution;
+
+    @Param({"1", "4"})
+    public int encoderWorkers;
+
+    private Path exportRoot;
+    private ByteBuffer[] syntheticFrames;
+    private long frameIndex = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int width = SyntheticFrames.getWidth(resolution);
+        int height = SyntheticFrames.getHeight(resolution);
+        syntheticFrames = SyntheticFrames.create(width, height, SYNTHETIC_FRAMES);
+
+        // Exports go to a temp folder, must be set before path config is first loaded
+        exportRoot = Files.createTempDirectory("isoanimations-bench");
+        System.setProperty("isoanimations.root", exportRoot.toString());
+
+        // Without spill, submit blocks on buffer pool so measured rate is what encoder sustains
+        RenderConfig.encoderWorkers = encoderWorkers;
+        RenderConfig.spillToDisk = false;
+
+        // Start recording session like animation start does
+        BufferPool.init(width * height * 3, RenderConfig.getBufferBudgetBytes());
+        VideoStreamManager.startRecording(width, height);
+        if (!VideoStreamManager.isExporting()) {
+            throw new IllegalStateException("Recording failed to start, see log");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        // Encoder drains queued frames and joins segments before export folder is removed
+        VideoStreamManager.finishRecording();
+        try (Stream<Path> files = Files.walk(exportRoot)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Failed to delete benchmark file " + file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void submitToEncode() {
+        // Same call readback makes for every frame, encoding runs on recording threads
+        ByteBuffer pixels = syntheticFrames[(int) (frameIndex % SYNTHETIC_FRAMES)];
+        VideoStreamManager.submitFrame(pixels, frameIndex * FRAME_INTERVAL_MICROS);
+        frameIndex++;
+    }
+}